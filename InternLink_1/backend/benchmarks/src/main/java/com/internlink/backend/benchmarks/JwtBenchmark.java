@@ -0,0 +1,96 @@
+package com.internlink.backend.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.internlink.backend.entity.User;
+import com.internlink.backend.service.JWTService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * JWTService on the per-request path.
+ * extractEmail / validateToken are measured both on a cache hit (the same token again, the common case)
+ * and on a miss (rotating over more distinct tokens than the cache holds, so every call verifies the HMAC).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class JwtBenchmark {
+
+    private static final int DISTINCT_TOKENS = 4096;
+
+    private JWTService cached;
+    private JWTService tiny; // holds far fewer tokens than we rotate through
+    private User user;
+    private String token;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        cached = new JWTService(10_000, new SimpleMeterRegistry());
+        tiny = new JWTService(16, new SimpleMeterRegistry());
+        user = user(1);
+        token = cached.generateToken(user);
+        cached.parseClaims(token);
+
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            tokens[i] = tiny.generateToken(user(i + 1));
+        }
+    }
+
+    private static User user(long id) {
+        User user = new User();
+        user.setUserId(id);
+        user.setEmail("candidate" + id + "@example.com");
+        user.setRole("candidate");
+        user.setTokenVersion(0);
+        return user;
+    }
+
+    private String nextToken() {
+        String t = tokens[next];
+        next = (next + 1) & (DISTINCT_TOKENS - 1);
+        return t;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cached.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractEmailCacheHit() {
+        return cached.extractEmail(token);
+    }
+
+    @Benchmark
+    public String extractEmailCacheMiss() {
+        return tiny.extractEmail(nextToken());
+    }
+
+    @Benchmark
+    public boolean validateTokenCacheHit() {
+        return cached.validateToken(token, user);
+    }
+
+    @Benchmark
+    public boolean validateTokenCacheMiss() {
+        return tiny.validateToken(nextToken(), user);
+    }
+}
@@ -0,0 +1,131 @@
+package com.internlink.backend.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.internlink.backend.entity.Internship;
+import com.internlink.backend.entity.MatchScore;
+import com.internlink.backend.service.MatchingEngine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * Candidate-to-internship scoring in MatchingEngine at different population sizes, with no database:
+ * candidates and internships are generated from a fixed seed over a skewed skill vocabulary
+ * (a few skills are very common, most are rare, like real profiles).
+ *
+ * topMatches      - one internship against everyone (after an internship is posted)
+ * leaderboard     - the recruiter's "best candidates" read, off the maintained leaderboard
+ * rescoreCandidate - one profile edit against the open internships it touches
+ * rematchAll      - the nightly bulk job, every open internship against everyone
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class MatchingBenchmark {
+
+    private static final int VOCABULARY = 400;
+    private static final int OPEN_INTERNSHIPS = 200;
+
+    @Param({"1000", "10000", "100000"})
+    public int candidates;
+
+    private MatchingEngine engine;
+    private ForkJoinPool pool;
+    private Internship internship;
+    private List<String> profileA;
+    private List<String> profileB;
+    private boolean flip;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        engine = new MatchingEngine(null, null, new SimpleMeterRegistry());
+        for (long id = 1; id <= candidates; id++) {
+            engine.indexCandidate(id, skills(random, 5 + random.nextInt(8)));
+        }
+        for (long id = 1; id <= OPEN_INTERNSHIPS; id++) {
+            engine.indexInternship(internship(random, id));
+        }
+        internship = internship(random, OPEN_INTERNSHIPS + 1);
+        profileA = skills(random, 8);
+        profileB = skills(random, 8);
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    // skill index skewed towards 0: skill-0 is in most profiles, skill-399 in almost none
+    private static String skill(SplittableRandom random) {
+        double r = random.nextDouble();
+        return "skill-" + (int) (VOCABULARY * r * r);
+    }
+
+    private static List<String> skills(SplittableRandom random, int count) {
+        List<String> skills = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            skills.add(skill(random));
+        }
+        return skills;
+    }
+
+    private static Internship internship(SplittableRandom random, long id) {
+        Map<String, Double> weights = new HashMap<>();
+        for (int i = 0; i < 6; i++) {
+            weights.put(skill(random), 1.0 + random.nextInt(5));
+        }
+        Internship internship = new Internship();
+        internship.setInternshipId(id);
+        internship.setSkillWeights(weights);
+        return internship;
+    }
+
+    @Benchmark
+    public List<MatchScore> topMatches() {
+        return engine.topMatches(internship, MatchingEngine.DEFAULT_TOP_K);
+    }
+
+    // internship 1 is indexed; the first call fills its leaderboard, the rest copy it
+    @Benchmark
+    public List<MatchScore> leaderboard() {
+        return engine.leaderboard(1L, MatchingEngine.DEFAULT_TOP_K);
+    }
+
+    // alternates between two skill sets so every call is a real change
+    @Benchmark
+    public MatchingEngine.CandidateRescore rescoreCandidate() {
+        flip = !flip;
+        return engine.rescoreCandidate(1, flip ? profileA : profileB);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<Long, List<MatchScore>> rematchAll() {
+        return engine.rematchAll(MatchingEngine.DEFAULT_TOP_K, 2048, pool, new LongAdder());
+    }
+}
@@ -0,0 +1,61 @@
+package com.internlink.backend.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.internlink.backend.service.PasswordHashingService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * Login password verification at a few bcrypt costs: the raw encoder, and through PasswordHashingService's
+ * bounded pool (what login actually calls), so the hand-off overhead is visible next to the hash itself.
+ * Each +1 in cost should roughly double the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 6, time = 5)
+@Fork(3)
+public class PasswordBenchmark {
+
+    @Param({"10", "12"})
+    public int strength;
+
+    private PasswordHashingService hashing;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        hashing = new PasswordHashingService(strength, 0, 1, 64, 60_000, new SimpleMeterRegistry());
+        hash = hashing.encoder().encode("correct horse battery staple");
+    }
+
+    @TearDown
+    public void tearDown() {
+        hashing.shutdown();
+    }
+
+    @Benchmark
+    public boolean encoderMatches() {
+        return hashing.encoder().matches("correct horse battery staple", hash);
+    }
+
+    @Benchmark
+    public boolean pooledMatches() {
+        return hashing.matches("correct horse battery staple", hash);
+    }
+}
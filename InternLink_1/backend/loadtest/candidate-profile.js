@@ -0,0 +1,61 @@
+// k6 load test: N concurrent clients hammering GET /api/candidate/profile, the JDBC-bound read path.
+// Run it once against each threading mode, see README.md in this folder.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=5000 -e DURATION=2m candidate-profile.js
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USERS = parseInt(__ENV.USERS || '200');
+const RUN_ID = __ENV.RUN_ID || `${Date.now()}`;
+
+export const options = {
+  setupTimeout: '10m',
+  scenarios: {
+    profile: {
+      executor: 'constant-vus',
+      vus: parseInt(__ENV.VUS || '5000'),
+      duration: __ENV.DURATION || '2m',
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+// signs up and logs in USERS candidates once; bcrypt makes this slow, it's excluded from the measured numbers
+export function setup() {
+  const tokens = [];
+  for (let i = 0; i < USERS; i++) {
+    const email = `loadtest-${RUN_ID}-${i}@example.com`;
+    http.post(`${BASE_URL}/api/auth/signup`, JSON.stringify({
+      fullName: `Load Test ${i}`,
+      email: email,
+      password: 'loadtest-password',
+      phone: `9${RUN_ID.slice(-5)}${String(i).padStart(4, '0')}`,
+      userType: 'candidate',
+    }), JSON_HEADERS);
+
+    const login = http.post(`${BASE_URL}/api/auth/login`, JSON.stringify({
+      email: email,
+      password: 'loadtest-password',
+      userType: 'candidate',
+    }), JSON_HEADERS);
+    if (login.status === 200) {
+      tokens.push(login.json('token'));
+    }
+  }
+  if (tokens.length === 0) {
+    throw new Error('no user could log in, is the backend up?');
+  }
+  return { tokens };
+}
+
+export default function (data) {
+  const token = data.tokens[Math.floor(Math.random() * data.tokens.length)];
+  const res = http.get(`${BASE_URL}/api/candidate/profile`, {
+    headers: { Authorization: `Bearer ${token}` },
+  });
+  check(res, { 'status 200': (r) => r.status === 200 });
+}
@@ -1,9 +1,12 @@
 package com.internlink.backend.config;
 
 import java.io.IOException;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -12,6 +15,10 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import com.internlink.backend.entity.User;
 import com.internlink.backend.repository.UserRepository;
 import com.internlink.backend.service.JWTService;
+import com.internlink.backend.service.TokenVersionCache;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -27,6 +34,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
+
+    // build the principal from JWT claims instead of loading the user on every request
+    @Value("${security.jwt.stateless:false}")
+    private boolean stateless;
+
+    // in stateless mode, still reject tokens whose "ver" claim is behind users.token_version (cached locally)
+    @Value("${security.jwt.version-check.enabled:true}")
+    private boolean versionCheck;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -40,13 +58,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring(7);
-        String email = jwtService.extractEmail(token);
+        Claims claims;
+        try {
+            claims = jwtService.parseClaims(token); // the only parse/verify for this request
+        } catch (JwtException | IllegalArgumentException e) {
+            // bad or expired token: carry on unauthenticated, the security chain rejects protected paths
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String email = claims.getSubject();
 
         if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            User user = userRepository.findByEmail(email).orElse(null);
-            if (user != null && jwtService.validateToken(token, user)) {
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(user, null, null);
+            User user;
+            User fromClaims = stateless ? jwtService.principalFromClaims(claims) : null;
+            if (fromClaims != null) {
+                user = isCurrentVersion(fromClaims) ? fromClaims : null;
+            } else {
+                // classic path, also the fallback for tokens issued before uid/ver claims existed
+                user = userRepository.findByEmail(email).orElse(null);
+                if (user != null && !jwtService.validateToken(claims, user)) {
+                    user = null;
+                }
+            }
+            if (user != null) {
+                // role "admin" -> ROLE_ADMIN, so SecurityConfig can use hasRole(...)
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(user, null,
+                        List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().toUpperCase())));
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
@@ -54,4 +91,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    // false if the user's tokens were revoked after this one was issued
+    private boolean isCurrentVersion(User fromClaims) {
+        return !versionCheck || fromClaims.getTokenVersion() == tokenVersionCache.currentVersion(fromClaims.getUserId());
+    }
 }
@@ -0,0 +1,58 @@
+package com.internlink.backend.config;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/*
+ * Remembers which users wrote something in the last windowMs, so their own reads skip the replica until it
+ * has (most likely) caught up. ReplicaRoutingDataSource records the current principal after every committed
+ * write transaction and checks it before handing out a replica connection. Code that reads another user's
+ * data (a recruiter opening a profile someone just saved) can check by id through readFresh().
+ *
+ * The window should sit above the replica lag you normally see; windowMs 0 turns read-your-writes off.
+ * Without a replica configured nothing routes anywhere and this is just a small unused cache.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final Cache<Long, Boolean> recentWriters;
+    private final boolean enabled;
+
+    @Autowired
+    public ReadYourWritesTracker(@Value("${spring.datasource.replica.read-your-writes-ms:5000}") long windowMs,
+                                 @Value("${spring.datasource.replica.read-your-writes-max-users:100000}") long maxUsers) {
+        this(windowMs, maxUsers, Ticker.systemTicker());
+    }
+
+    ReadYourWritesTracker(long windowMs, long maxUsers, Ticker ticker) {
+        this.enabled = windowMs > 0;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofMillis(Math.max(windowMs, 1)))
+                .ticker(ticker)
+                .build();
+    }
+
+    public void recordWrite(Long userId) {
+        if (enabled && userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    public boolean recentlyWrote(Long userId) {
+        return enabled && userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    // runs the read on the primary if userId wrote within the window, otherwise wherever it would normally go
+    public <T> T readFresh(Long userId, Supplier<T> read) {
+        return recentlyWrote(userId) ? ReplicaRoutingDataSource.onPrimary(read) : read.get();
+    }
+}
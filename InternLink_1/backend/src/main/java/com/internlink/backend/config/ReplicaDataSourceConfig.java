@@ -0,0 +1,68 @@
+package com.internlink.backend.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/*
+ * Only active when spring.datasource.replica.url is set; otherwise Boot's single pool is used as before.
+ *
+ * primaryDataSource is built from the usual spring.datasource.* / spring.datasource.hikari.* keys,
+ * replicaDataSource from spring.datasource.replica.* / spring.datasource.replica.hikari.* (username and
+ * password fall back to the primary's when left out). The @Primary bean everyone gets (JPA, JdbcTemplate)
+ * is the lazy proxy around ReplicaRoutingDataSource. Both pools still show up in hikaricp_* metrics,
+ * tagged by pool name.
+ *
+ * To try it locally, point replica.url at a second Postgres (a streaming replica or any copy of the
+ * schema); ReplicaRoutingDataSourceTest covers the routing itself with stand-in data sources.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.datasource.replica.url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    // not a DataSourceProperties bean of its own, that would make Boot's injection of the primary's ambiguous
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties, Environment environment) {
+        DataSourceProperties replica = Binder.get(environment)
+                .bind("spring.datasource.replica", DataSourceProperties.class)
+                .orElseGet(DataSourceProperties::new);
+        if (replica.getUsername() == null) {
+            replica.setUsername(properties.determineUsername());
+        }
+        if (replica.getPassword() == null) {
+            replica.setPassword(properties.determinePassword());
+        }
+        HikariDataSource dataSource = replica.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReadYourWritesTracker readYourWrites) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, readYourWrites));
+    }
+}
@@ -0,0 +1,95 @@
+package com.internlink.backend.config;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.internlink.backend.entity.User;
+
+/*
+ * Sends connections for @Transactional(readOnly = true) work to the replica pool and everything else to the
+ * primary. Must sit behind a LazyConnectionDataSourceProxy (see ReplicaDataSourceConfig): the transaction
+ * manager asks for a connection before the read-only flag is bound to the thread, the lazy proxy only
+ * fetches the real one on the first statement, when determineCurrentLookupKey() can see it.
+ *
+ * A read still goes to the primary when
+ *  - it runs inside onPrimary(...) (login right after signup, anything that must not be stale), or
+ *  - the current principal committed a write within the read-your-writes window (ReadYourWritesTracker).
+ * Reads outside a transaction (plain JdbcTemplate, MatchScoreReader pages) stay on the primary: without the
+ * flag we can't tell them from writes.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private final ReadYourWritesTracker readYourWrites;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesTracker readYourWrites) {
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    // everything read inside the supplier comes from the primary, nesting is fine
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                FORCE_PRIMARY.remove();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return route();
+    }
+
+    Route route() {
+        Long userId = currentUserId();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            boolean fresh = FORCE_PRIMARY.get() != null || readYourWrites.recentlyWrote(userId);
+            return fresh ? Route.PRIMARY : Route.REPLICA;
+        }
+        if (userId != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+            recordAfterCommit(userId);
+        }
+        return Route.PRIMARY;
+    }
+
+    // the window starts when the data is visible on the primary, not when the transaction began
+    private void recordAfterCommit(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readYourWrites.recordWrite(userId);
+                }
+            });
+        } else {
+            readYourWrites.recordWrite(userId);
+        }
+    }
+
+    // null on scheduled jobs, imports and unauthenticated requests
+    private static Long currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof User user) {
+            return user.getUserId();
+        }
+        return null;
+    }
+}
@@ -3,15 +3,22 @@ package com.internlink.backend.config;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.internlink.backend.service.CaffeineRateLimitStore;
+import com.internlink.backend.service.PasswordHashingService;
+import com.internlink.backend.service.RateLimitStore;
+
 @Configuration
 public class SecurityConfig {
 
@@ -25,6 +32,12 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/auth/**").permitAll()
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                // posting and closing internships; searching them only needs a login
+                .requestMatchers(HttpMethod.POST, "/api/internships/**").hasRole("RECRUITER")
+                .requestMatchers("/api/recruiter/**").hasRole("RECRUITER")
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .formLogin(form -> form.disable());
@@ -38,8 +51,9 @@ public class SecurityConfig {
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("http://localhost:3000"));
-        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "If-None-Match", "If-Match"));
+        configuration.setExposedHeaders(List.of("ETag")); // the frontend needs it for the conditional requests above
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -47,8 +61,16 @@ public class SecurityConfig {
         return source;
     }
 
+    // per-node login buckets; for several nodes define a @Primary RateLimitStore backed by shared storage
+    @Bean
+    public RateLimitStore rateLimitStore(@Value("${security.login-limit.max-keys:100000}") long maxKeys) {
+        return new CaffeineRateLimitStore(maxKeys);
+    }
+
+    // same (calibrated) bcrypt settings as PasswordHashingService; our own code goes through that service
+    // so hashing runs on its bounded pool instead of the request thread
     @Bean
-    public org.springframework.security.crypto.password.PasswordEncoder passwordEncoder() {
-        return new org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingService passwordHashingService) {
+        return passwordHashingService.encoder();
     }
 }
@@ -16,8 +16,11 @@ import com.internlink.backend.dto.AuthResponse;
 import com.internlink.backend.dto.SignupRequest;
 import com.internlink.backend.entity.User;
 import com.internlink.backend.service.AuthService;
+import com.internlink.backend.service.LoginRateLimiter;
 import com.internlink.backend.service.UserService;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 //using @ with spring boot to define a controller class
 @RestController 
 @RequestMapping("/api/auth") // we declare this by @ because we want to define a base URL for all authentication-related endpoints
@@ -42,15 +45,17 @@ public class AuthController {
     }
     @Autowired
     private AuthService authService;
+    @Autowired
+    private LoginRateLimiter loginRateLimiter; // per IP + per email buckets, 429 before any lookup or bcrypt
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody AuthRequest request) {
-        System.out.println("Login request received: " + request);
+    public ResponseEntity<?> login(@RequestBody AuthRequest request, HttpServletRequest httpRequest) {
+        // remote address is the proxy's when behind one, set server.forward-headers-strategy so it's the client's
+        loginRateLimiter.checkLogin(httpRequest.getRemoteAddr(), request.getEmail());
         String token = authService.authenticateUser(
             request.getEmail(),
             request.getPassword(), 
             request.getUserType()
         );
-        System.out.println("Token generated: " + token);
         return ResponseEntity.ok(new AuthResponse(token, request.getUserType()));
     }
     
@@ -1,20 +1,33 @@
 package com.internlink.backend.controller;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.internlink.backend.dto.CandidateProfilePatch;
 import com.internlink.backend.entity.CandidateProfile;
+import com.internlink.backend.exception.PreconditionFailedException;
 import com.internlink.backend.service.CandidateService;
+import com.internlink.backend.service.CandidateService.ProfileChanges;
 import com.internlink.backend.service.JWTService;
 
+import jakarta.persistence.OptimisticLockException;
 import jakarta.servlet.http.HttpServletRequest;
 
 @CrossOrigin(origins = "*")
@@ -22,6 +35,8 @@ import jakarta.servlet.http.HttpServletRequest;
 @RequestMapping("/api/candidate")
 public class CandidateController {
 
+    private static final Logger log = LoggerFactory.getLogger(CandidateController.class);
+
     @Autowired
     private CandidateService candidateService;
 
@@ -48,12 +63,23 @@ public class CandidateController {
                         .body("Invalid token or email not found");
             }
 
+            // conditional GET: the version is one indexed lookup, a match is a 304 without loading or serializing the profile
+            Long currentVersion = null;
+            String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+            if (ifNoneMatch != null) {
+                currentVersion = candidateService.getProfileVersion(email);
+                if (currentVersion != null
+                        && (ifNoneMatch.trim().equals("*") || versions(ifNoneMatch).contains(currentVersion))) {
+                    return versioned(ResponseEntity.status(HttpStatus.NOT_MODIFIED), currentVersion).build();
+                }
+            }
+
             // Get candidate profile using email
-            CandidateProfile profile = candidateService.getCandidateProfileByEmail(email);
-            return ResponseEntity.ok(profile);
+            CandidateProfile profile = candidateService.getCandidateProfileByEmail(email, currentVersion);
+            return versioned(ResponseEntity.ok(), profile.getVersion()).body(profile);
 
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Error fetching candidate profile", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error fetching candidate profile");
         }
@@ -63,19 +89,88 @@ public class CandidateController {
     @PostMapping("/profile")
     public ResponseEntity<?> saveOrUpdateProfile(
             @RequestHeader("Authorization") String token,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody CandidateProfile profile) {
 
         try {
             String jwt = token.replace("Bearer ", "");
             String email = jwtService.extractEmail(jwt);
 
-            CandidateProfile savedProfile = candidateService.saveOrUpdateProfile(email, profile);
-            return ResponseEntity.ok(savedProfile);
+            CandidateProfile savedProfile = candidateService.saveOrUpdateProfile(email, profile, expectedVersion(ifMatch));
+            return versioned(ResponseEntity.ok(), savedProfile.getVersion()).body(savedProfile);
 
+        } catch (PreconditionFailedException | OptimisticLockingFailureException | OptimisticLockException e) {
+            throw e; // 412, GlobalExceptionHandler
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Error saving/updating candidate profile", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error saving/updating candidate profile");
         }
     }
+
+    // partial update: only the fields / skills in the body change, the response is the change set
+    @PatchMapping("/profile")
+    public ResponseEntity<?> patchProfile(
+            @RequestHeader("Authorization") String token,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody CandidateProfilePatch patch) {
+
+        try {
+            String email = jwtService.extractEmail(token.replace("Bearer ", ""));
+            if (email == null) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body("Invalid token or email not found");
+            }
+            ProfileChanges changes = candidateService.patchProfile(email, patch, expectedVersion(ifMatch));
+            return versioned(ResponseEntity.ok(), changes.version()).body(changes);
+
+        } catch (PreconditionFailedException | OptimisticLockingFailureException | OptimisticLockException e) {
+            throw e; // 412, GlobalExceptionHandler
+        } catch (Exception e) {
+            log.error("Error patching candidate profile", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error patching candidate profile");
+        }
+    }
+
+    /*
+     * The profile's ETag is its version, "7". no-cache + private: browsers keep the copy but revalidate with
+     * If-None-Match every time, shared caches don't store it (it's per user). A profile that was never saved
+     * has no version and gets no ETag.
+     */
+    private static ResponseEntity.BodyBuilder versioned(ResponseEntity.BodyBuilder response, Long version) {
+        response.cacheControl(CacheControl.noCache().cachePrivate());
+        return version == null ? response : response.eTag("\"" + version + "\"");
+    }
+
+    // If-Match -> the version the write expects; absent or * means unconditional
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        List<Long> versions = versions(ifMatch);
+        if (versions.isEmpty()) {
+            throw new PreconditionFailedException("If-Match is not a profile ETag");
+        }
+        return versions.get(0); // clients send back the single ETag they were given
+    }
+
+    // the versions named in an If-Match / If-None-Match list ("7", W/"7", ...), anything else is skipped
+    private static List<Long> versions(String header) {
+        List<Long> versions = new ArrayList<>();
+        for (String tag : header.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                try {
+                    versions.add(Long.parseLong(tag.substring(1, tag.length() - 1)));
+                } catch (NumberFormatException ignored) {
+                    // someone else's tag format, can't be ours
+                }
+            }
+        }
+        return versions;
+    }
 }
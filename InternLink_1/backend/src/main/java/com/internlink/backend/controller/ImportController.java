@@ -0,0 +1,67 @@
+package com.internlink.backend.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.internlink.backend.service.CandidateImportJob;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/*
+ * Admin only (see SecurityConfig): bulk candidate import from a roster file.
+ * POST the raw file as the body with Content-Type text/csv or application/x-ndjson, e.g.
+ *   curl -H "Authorization: Bearer $TOKEN" -H "Content-Type: text/csv" --data-binary @roster.csv .../api/admin/import/candidates
+ * The body is streamed to a temp file (never held in memory) and imported in the background; GET shows progress and row errors.
+ */
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/admin/import")
+public class ImportController {
+
+    @Autowired
+    private CandidateImportJob candidateImportJob;
+
+    @PostMapping(value = "/candidates", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<CandidateImportJob.Progress> importCandidates(HttpServletRequest request) throws IOException {
+        CandidateImportJob.Format format = request.getContentType().startsWith("text/csv")
+                ? CandidateImportJob.Format.CSV
+                : CandidateImportJob.Format.NDJSON;
+
+        if (candidateImportJob.progress().running()) {
+            // don't spool a whole roster just to reject it
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(candidateImportJob.progress());
+        }
+
+        Path file = Files.createTempFile("candidate-import-", ".tmp");
+        try (InputStream body = request.getInputStream()) {
+            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        boolean started = candidateImportJob.start(file, format);
+        if (!started) {
+            Files.deleteIfExists(file);
+        }
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT)
+                .body(candidateImportJob.progress());
+    }
+
+    @GetMapping("/candidates")
+    public CandidateImportJob.Progress progress() {
+        return candidateImportJob.progress();
+    }
+}
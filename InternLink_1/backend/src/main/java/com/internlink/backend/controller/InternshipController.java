@@ -0,0 +1,70 @@
+package com.internlink.backend.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.internlink.backend.entity.Internship;
+import com.internlink.backend.entity.User;
+import com.internlink.backend.service.InternshipFacetIndex;
+import com.internlink.backend.service.InternshipService;
+
+/*
+ * GET  /api/internships?domain=..&location=..&skill=..&page=0&size=20   search open internships (repeat a param to pass several)
+ * GET  /api/internships/{id}                                            one internship
+ * POST /api/internships                                                 recruiter posts an internship
+ * POST /api/internships/{id}/close                                      recruiter closes their own posting
+ */
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/internships")
+public class InternshipController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int FACET_LIMIT = 20;
+
+    @Autowired
+    private InternshipService internshipService;
+
+    @GetMapping
+    public InternshipFacetIndex.Page search(@RequestParam(required = false) List<String> domain,
+                                            @RequestParam(required = false) List<String> location,
+                                            @RequestParam(required = false) List<String> skill,
+                                            @RequestParam(defaultValue = "0") int page,
+                                            @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || page > 10_000 || size < 1) {
+            throw new IllegalArgumentException("page must be 0..10000 and size at least 1");
+        }
+        return internshipService.search(new InternshipFacetIndex.Query(
+                domain == null ? List.of() : domain,
+                location == null ? List.of() : location,
+                skill == null ? List.of() : skill,
+                page, Math.min(size, MAX_PAGE_SIZE), FACET_LIMIT));
+    }
+
+    @GetMapping("/{id}")
+    public Internship getInternship(@PathVariable Long id) {
+        return internshipService.getInternship(id);
+    }
+
+    @PostMapping
+    public ResponseEntity<Internship> create(@RequestBody Internship internship, @AuthenticationPrincipal User recruiter) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(internshipService.create(internship, recruiter));
+    }
+
+    @PostMapping("/{id}/close")
+    public Internship close(@PathVariable Long id, @AuthenticationPrincipal User recruiter) {
+        return internshipService.close(id, recruiter);
+    }
+}
@@ -0,0 +1,34 @@
+package com.internlink.backend.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.internlink.backend.service.BatchMatchJob;
+
+// admin only (see SecurityConfig), lets ops trigger the bulk rematch and watch its progress
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/admin/matching")
+public class MatchingController {
+
+    @Autowired
+    private BatchMatchJob batchMatchJob;
+
+    @PostMapping("/rematch")
+    public ResponseEntity<BatchMatchJob.Progress> rematch() {
+        boolean started = batchMatchJob.start();
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT)
+                .body(batchMatchJob.progress());
+    }
+
+    @GetMapping("/rematch")
+    public BatchMatchJob.Progress progress() {
+        return batchMatchJob.progress();
+    }
+}
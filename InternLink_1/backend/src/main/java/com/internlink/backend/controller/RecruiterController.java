@@ -1,5 +1,63 @@
 package com.internlink.backend.controller;
 
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.internlink.backend.entity.MatchScore;
+import com.internlink.backend.entity.User;
+import com.internlink.backend.repository.MatchScoreReader;
+import com.internlink.backend.service.RecruiterService;
+
+/*
+ * Recruiters only (see SecurityConfig), and only for their own internships.
+ * GET /api/recruiter/internships/{id}/candidates?limit=50[&after=<nextCursor>]   best matches first, keyset pages
+ * GET /api/recruiter/internships/{id}/candidates/export                          every match as NDJSON, streamed
+ * GET /api/recruiter/internships/{id}/top?k=10                                   current best k (ids + scores), from memory
+ */
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/recruiter")
 public class RecruiterController {
-    
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private RecruiterService recruiterService;
+
+    @GetMapping("/internships/{id}/candidates")
+    public MatchScoreReader.MatchPage candidates(@PathVariable Long id,
+                                                 @RequestParam(required = false) String after,
+                                                 @RequestParam(defaultValue = "50") int limit,
+                                                 @AuthenticationPrincipal User recruiter) {
+        return recruiterService.listCandidates(id, recruiter, after, limit);
+    }
+
+    @GetMapping("/internships/{id}/top")
+    public List<MatchScore> top(@PathVariable Long id,
+                                @RequestParam(defaultValue = "10") int k,
+                                @AuthenticationPrincipal User recruiter) {
+        return recruiterService.topCandidates(id, recruiter, k);
+    }
+
+    @GetMapping("/internships/{id}/candidates/export")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable Long id, @AuthenticationPrincipal User recruiter) {
+        recruiterService.checkCanExport(id, recruiter);
+        StreamingResponseBody body = out -> recruiterService.exportCandidates(id, out);
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"internship-" + id + "-candidates.ndjson\"")
+                .body(body);
+    }
 }
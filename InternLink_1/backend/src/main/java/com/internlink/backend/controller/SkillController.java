@@ -0,0 +1,31 @@
+package com.internlink.backend.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.internlink.backend.service.SkillTrie;
+import com.internlink.backend.service.SkillVocabulary;
+
+/*
+ * GET /api/skills/suggest?q=jav&limit=10   skills starting with q, most used first (in-memory, no database)
+ */
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/skills")
+public class SkillController {
+
+    @Autowired
+    private SkillVocabulary skillVocabulary;
+
+    @GetMapping("/suggest")
+    public List<String> suggest(@RequestParam(defaultValue = "") String q,
+                                @RequestParam(defaultValue = "" + SkillTrie.MAX_SUGGESTIONS) int limit) {
+        return skillVocabulary.suggest(q, limit);
+    }
+}
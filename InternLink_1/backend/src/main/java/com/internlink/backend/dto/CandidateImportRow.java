@@ -0,0 +1,20 @@
+package com.internlink.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.Data;
+
+// one student from a bulk import (a CSV row or an NDJSON line); becomes a users row plus an empty candidate_profiles row
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CandidateImportRow {
+    private String fullName;
+    private String email;
+    private String password;
+    private String phone;
+    private String organization; // university / college
+    private String gender;
+    private String city;
+    private String state;
+    private String category;
+}
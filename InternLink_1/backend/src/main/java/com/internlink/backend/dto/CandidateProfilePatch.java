@@ -0,0 +1,38 @@
+package com.internlink.backend.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+/*
+ * Body of PATCH /api/candidate/profile, same shape as the profile JSON but every field is optional:
+ * a missing (null) field is left alone, an empty string clears it. Skills are deltas, not the full list.
+ *
+ *   {"city": "Pune", "education": {"graduationYear": "2026"}, "addSkills": ["Kotlin"], "removeSkills": ["Java"]}
+ */
+@Data
+public class CandidateProfilePatch {
+    private String gender;
+    private String city;
+    private String state;
+    private String category;
+
+    private Education education;
+    private Preferences preferences;
+
+    private List<String> addSkills;
+    private List<String> removeSkills; // matched like SkillIndex does: case and surrounding spaces don't matter
+
+    @Data
+    public static class Education {
+        private String level;
+        private String institution;
+        private String graduationYear;
+    }
+
+    @Data
+    public static class Preferences {
+        private String preferredDomain;
+        private String preferredLocation;
+    }
+}
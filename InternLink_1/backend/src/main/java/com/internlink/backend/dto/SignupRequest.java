@@ -12,7 +12,7 @@ public class SignupRequest {
     private String organization;
     private String phone;
     private String role;
-    private String userType; // "student" or "employer"
+    private String userType; // "candidate" or "recruiter"
     //we will have to add a Captcha field here later
     //Google Login field can also be added later
 }
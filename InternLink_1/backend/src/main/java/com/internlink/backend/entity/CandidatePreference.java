@@ -1,25 +1,34 @@
 package com.internlink.backend.entity;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import org.hibernate.annotations.DynamicUpdate;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
+@DynamicUpdate
 @Table(name = "candidate_preferences")
 @Getter @Setter
 public class CandidatePreference {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "candidate_preferences_seq")
+    @SequenceGenerator(name = "candidate_preferences_seq", sequenceName = "candidate_preferences_seq", allocationSize = 50)
     @Column(name = "preference_id")
     private Long preferenceId;
 
-    @ManyToOne
+    @JsonIgnore // back reference, the profile already contains this row
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "candidate_id")
     private CandidateProfile candidate;
 
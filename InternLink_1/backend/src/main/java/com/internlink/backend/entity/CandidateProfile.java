@@ -1,7 +1,11 @@
 package com.internlink.backend.entity;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.DynamicUpdate;
+
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -9,17 +13,22 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
-import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
+@DynamicUpdate // PATCH sets a few columns, the UPDATE should only carry those
 @Table(name = "candidate_profiles")
 @Getter @Setter
 public class CandidateProfile {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "candidate_profiles_seq")
+    @SequenceGenerator(name = "candidate_profiles_seq", sequenceName = "candidate_profiles_seq", allocationSize = 50)
     @Column(name = "candidate_id")
     private Long candidateId;
 
@@ -32,12 +41,18 @@ public class CandidateProfile {
     private String state;
     private String category;
 
-    @Transient
+    // bumped on every change to the aggregate (CandidateService), doubles as the ETag of GET /api/candidate/profile
+    @Version
+    private Long version;
+
+    // the child tables own candidate_id; load the whole aggregate with CandidateProfileRepository.find*Aggregate*
+    // (one query via entity graph) instead of touching these one by one
+    @OneToOne(mappedBy = "candidate", cascade = CascadeType.ALL, orphanRemoval = true)
     private CandidateEducation education;
 
-    @Transient
+    @OneToOne(mappedBy = "candidate", cascade = CascadeType.ALL, orphanRemoval = true)
     private CandidatePreference preferences;
 
-    @Transient
-    private List<CandidateSkill> skills;
+    @OneToMany(mappedBy = "candidate", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<CandidateSkill> skills = new ArrayList<>();
 }
@@ -1,27 +1,48 @@
 package com.internlink.backend.entity;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonValue;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 @Entity
 @Table(name = "candidate_skills")
 @Getter @Setter
+@NoArgsConstructor
 public class CandidateSkill {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "candidate_skills_seq")
+    @SequenceGenerator(name = "candidate_skills_seq", sequenceName = "candidate_skills_seq", allocationSize = 50)
     @Column(name = "skill_id")
     private Long skillId;
 
-    @ManyToOne
+    @JsonIgnore // back reference, the profile already contains this skill
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "candidate_id")
     private CandidateProfile candidate;
 
     private String skillName;
+
+    // the frontend sends and expects skills as plain strings: ["Java", "SQL"]
+    @JsonCreator
+    public CandidateSkill(String skillName) {
+        this.skillName = skillName;
+    }
+
+    @JsonValue
+    public String getSkillName() {
+        return skillName;
+    }
 }
@@ -1,5 +1,59 @@
 package com.internlink.backend.entity;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.MapKeyColumn;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Table(name = "internships")
+@Getter @Setter
 public class Internship {
-    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "internship_id")
+    private Long internshipId;
+
+    @JsonIgnore // the recruiter's User row carries the password hash, never send it out
+    @ManyToOne
+    @JoinColumn(name = "recruiter_id")
+    private User recruiter;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    private String domain;
+    private String location;
+
+    // required skills -> how much each one counts towards the match score, e.g. {"java": 3.0, "sql": 1.0}
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "internship_skills", joinColumns = @JoinColumn(name = "internship_id"))
+    @MapKeyColumn(name = "skill_name")
+    @Column(name = "weight")
+    private Map<String, Double> skillWeights = new HashMap<>();
+
+    @Column(length = 20)
+    private String status = "OPEN";
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
 }
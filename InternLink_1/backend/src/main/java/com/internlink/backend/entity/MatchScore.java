@@ -1,5 +1,50 @@
 package com.internlink.backend.entity;
 
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// one row per (candidate, internship) pair the MatchingEngine has scored
+// plain id columns instead of @ManyToOne so scores can be written/read without loading either side
+@Entity
+// the index serves the recruiter listing's keyset pages (MatchScoreReader) without a sort
+@Table(name = "match_scores", uniqueConstraints = @UniqueConstraint(
+        name = "uk_match_scores_candidate_internship", columnNames = {"candidate_id", "internship_id"}),
+        indexes = @Index(name = "idx_match_scores_internship_score", columnList = "internship_id, score DESC, candidate_id DESC"))
+@Getter @Setter
+@NoArgsConstructor
 public class MatchScore {
-    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "match_id")
+    private Long matchId;
+
+    @Column(name = "candidate_id", nullable = false)
+    private Long candidateId;
+
+    @Column(name = "internship_id", nullable = false)
+    private Long internshipId;
+
+    // 0..1, share of the internship's skill weight the candidate covers
+    @Column(nullable = false)
+    private double score;
+
+    @Column(name = "computed_at")
+    private LocalDateTime computedAt = LocalDateTime.now();
+
+    public MatchScore(Long candidateId, Long internshipId, double score) {
+        this.candidateId = candidateId;
+        this.internshipId = internshipId;
+        this.score = score;
+    }
 }
@@ -6,7 +6,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;     
+import jakarta.persistence.UniqueConstraint;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -23,7 +25,9 @@ import lombok.Setter;
  * The @Table(name = "users") annotation specifies that this entity is mapped to the "users" table in the database.
  * The @Entity annotation indicates that this class is a JPA entity.
  * The @Id annotation specifies the primary key of the entity.
- * The @GeneratedValue(strategy = GenerationType.IDENTITY) annotation indicates that the primary key is auto-incremented.
+ * The @GeneratedValue(strategy = GenerationType.SEQUENCE) annotation indicates that the primary key comes from the users_seq sequence.
+ * allocationSize = 50 means Hibernate reserves 50 ids per nextval call (pooled optimizer), so inserts need no round trip for
+ * the id and can be sent as JDBC batches. (IDENTITY would make every insert run on its own to read back the generated key.)
  * The @Column annotations are used to specify the details of the columns in the database table.
  * For example, @Column(name = "full_name", nullable = false) indicates that the fullName field is mapped to the "full_name" column in the database and it cannot be null.
  * Now how do we use this class in the signup process?
@@ -37,19 +41,25 @@ import lombok.Setter;
  * * This process is typically handled in a service class (like UserService) and a controller class (like AuthController).
  */
 @Entity // This annotation indicates that the class is a JPA entity
-@Table(name = "users") // This annotation specifies the table name in the database
+// named unique constraints (they also serve as the email/phone indexes): signup relies on them to catch
+// duplicates that race past its check, and ConflictException maps the names to readable 409 messages
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_users_email", columnNames = "email"),
+        @UniqueConstraint(name = "uk_users_phone", columnNames = "phone")
+}) // This annotation specifies the table name in the database
 @Getter //getters are used to retrieve the value of a variable
 @Setter //setters are used to set the value of a variable
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     @Column(name = "user_id")
     private Long userId;
     
     @Column(name = "full_name", nullable = false)
     private String fullName;
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String email;
 
     
@@ -66,5 +76,9 @@ public class User {
 
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    // copied into every JWT as the "ver" claim; bumping it revokes all tokens issued before (see UserService.revokeTokens)
+    @Column(name = "token_version")
+    private Integer tokenVersion = 0;
     
 }
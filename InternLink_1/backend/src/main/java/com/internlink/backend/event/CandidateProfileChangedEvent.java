@@ -0,0 +1,22 @@
+package com.internlink.backend.event;
+
+import java.util.List;
+
+import com.internlink.backend.service.CandidateService.ProfileChanges;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// published by CandidateService after a profile save, consumed by MatchRescoreQueue
+// carries the skills (the only matching input) so listeners don't have to reload the profile
+@Getter
+@AllArgsConstructor
+public class CandidateProfileChangedEvent {
+    private final Long candidateId;
+    private final List<String> skills;
+    private final ProfileChanges changes; // what a PATCH changed, null after a full save (anything may have)
+
+    public boolean skillsMayHaveChanged() {
+        return changes == null || changes.skillsChanged();
+    }
+}
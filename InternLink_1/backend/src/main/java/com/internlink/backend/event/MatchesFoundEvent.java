@@ -0,0 +1,15 @@
+package com.internlink.backend.event;
+
+import java.util.List;
+
+import com.internlink.backend.service.MatchingEngine.TopMatch;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// published once new top matches are stored (MatchRescoreQueue, BatchMatchJob.rematchInternship), consumed by NotificationBus
+@Getter
+@AllArgsConstructor
+public class MatchesFoundEvent {
+    private final List<TopMatch> matches;
+}
@@ -0,0 +1,36 @@
+package com.internlink.backend.exception;
+
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+// mapped to 409 in GlobalExceptionHandler
+public class ConflictException extends RuntimeException {
+
+    // named unique constraints -> the message the client sees when an insert/update trips them
+    private static final Map<String, String> MESSAGES_BY_CONSTRAINT = Map.of(
+            "uk_users_email", "Email already registered",
+            "uk_users_phone", "Phone number already registered");
+
+    public ConflictException(String message) {
+        super(message);
+    }
+
+    // the constraint-level conflict from the database, with a readable message if it's a constraint we know
+    public static ConflictException from(DataIntegrityViolationException ex) {
+        String constraint = constraintName(ex);
+        String message = constraint == null ? null : MESSAGES_BY_CONSTRAINT.get(constraint.toLowerCase(Locale.ROOT));
+        return new ConflictException(message != null ? message : "Conflicts with existing data");
+    }
+
+    // the violated constraint's name, if Hibernate could tell which one it was
+    static String constraintName(Throwable ex) {
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (t instanceof org.hibernate.exception.ConstraintViolationException cve) {
+                return cve.getConstraintName();
+            }
+        }
+        return null;
+    }
+}
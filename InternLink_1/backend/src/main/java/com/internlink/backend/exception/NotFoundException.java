@@ -0,0 +1,8 @@
+package com.internlink.backend.exception;
+
+// mapped to 404 in GlobalExceptionHandler
+public class NotFoundException extends RuntimeException {
+    public NotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.internlink.backend.exception;
+
+// mapped to 412 in GlobalExceptionHandler: the If-Match version is not the one stored any more
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
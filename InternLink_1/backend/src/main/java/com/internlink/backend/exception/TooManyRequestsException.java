@@ -0,0 +1,14 @@
+package com.internlink.backend.exception;
+
+import lombok.Getter;
+
+// mapped to 429 + Retry-After in GlobalExceptionHandler
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
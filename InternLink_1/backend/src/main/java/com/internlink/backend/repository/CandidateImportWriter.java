@@ -0,0 +1,108 @@
+package com.internlink.backend.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.internlink.backend.dto.CandidateImportRow;
+
+// JDBC batch writes for the bulk candidate import: a chunk of users plus their empty profiles in two batched statements
+@Repository
+public class CandidateImportWriter {
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (user_id, full_name, email, password_hash, organization, phone, role, created_at, token_version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, 'candidate', ?, 0)";
+
+    private static final String INSERT_PROFILE =
+            "INSERT INTO candidate_profiles (candidate_id, user_id, gender, city, state, category) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    /*
+     * Ids come from the same sequences Hibernate uses, in the same blocks: with allocationSize = 50 (see User,
+     * CandidateProfile) each nextval value v stands for ids v-49..v, Hibernate's pooled optimizer reads it the
+     * same way, so the two never hand out the same id. One query per sequence per chunk.
+     */
+    static final int ID_BLOCK = 50;
+    private static final String USERS_SEQ = "users_seq";
+    private static final String PROFILES_SEQ = "candidate_profiles_seq";
+
+    private static final String TAKEN_CONTACTS =
+            "SELECT email, phone FROM users WHERE email = ANY (?) OR phone = ANY (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CandidateImportWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // a row ready to insert: the parsed fields plus the bcrypt hash of its password
+    public record ImportedCandidate(CandidateImportRow row, String passwordHash) {
+    }
+
+    // which of these emails / phones already belong to someone, one query per chunk
+    public record TakenContacts(Set<String> emails, Set<String> phones) {
+    }
+
+    public TakenContacts findTaken(Collection<String> emails, Collection<String> phones) {
+        Set<String> takenEmails = new HashSet<>();
+        Set<String> takenPhones = new HashSet<>();
+        jdbcTemplate.query(TAKEN_CONTACTS, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("varchar", emails.toArray()));
+            ps.setArray(2, ps.getConnection().createArrayOf("varchar", phones.toArray()));
+        }, rs -> {
+            takenEmails.add(rs.getString("email"));
+            String phone = rs.getString("phone");
+            if (phone != null) {
+                takenPhones.add(phone);
+            }
+        });
+        return new TakenContacts(takenEmails, takenPhones);
+    }
+
+    // all or nothing: a unique-constraint hit on any row rolls back the whole chunk
+    @Transactional
+    public int insert(List<ImportedCandidate> candidates) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long[] userIds = allocateIds(USERS_SEQ, candidates.size());
+        long[] profileIds = allocateIds(PROFILES_SEQ, candidates.size());
+        List<Object[]> users = new ArrayList<>(candidates.size());
+        List<Object[]> profiles = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            ImportedCandidate candidate = candidates.get(i);
+            CandidateImportRow row = candidate.row();
+            users.add(new Object[] {userIds[i], row.getFullName(), row.getEmail(), candidate.passwordHash(),
+                    row.getOrganization(), row.getPhone(), now});
+            profiles.add(new Object[] {profileIds[i], userIds[i], row.getGender(), row.getCity(), row.getState(),
+                    row.getCategory()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER, users);
+        jdbcTemplate.batchUpdate(INSERT_PROFILE, profiles);
+        return candidates.size();
+    }
+
+    private long[] allocateIds(String sequence, int count) {
+        long[] ids = new long[count];
+        int filled = 0;
+        while (filled < count) {
+            int blocks = (count - filled + ID_BLOCK - 1) / ID_BLOCK;
+            List<Long> highs = jdbcTemplate.queryForList(
+                    "SELECT nextval('" + sequence + "') FROM generate_series(1, ?)", Long.class, blocks);
+            for (long high : highs) {
+                // a fresh sequence starts at 1, whose block would reach below 1: only 1 is usable then
+                for (long id = Math.max(1, high - ID_BLOCK + 1); id <= high && filled < count; id++) {
+                    ids[filled++] = id;
+                }
+            }
+        }
+        return ids;
+    }
+}
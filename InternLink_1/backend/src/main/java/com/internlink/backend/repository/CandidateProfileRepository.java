@@ -1,12 +1,32 @@
 package com.internlink.backend.repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.internlink.backend.entity.CandidateProfile;
 
 @Repository
-public interface CandidateProfileRepository extends JpaRepository<CandidateProfile, Integer> {
+public interface CandidateProfileRepository extends JpaRepository<CandidateProfile, Long> {
     Optional<CandidateProfile> findByUserUserId(Long userId);
+
+    // the *Aggregate* finders fetch user, education, preferences and skills in the same round trip
+    @EntityGraph(attributePaths = {"user", "education", "preferences", "skills"})
+    Optional<CandidateProfile> findAggregateByUserUserId(Long userId);
+
+    // email -> full profile in one query, no separate users lookup first
+    @EntityGraph(attributePaths = {"user", "education", "preferences", "skills"})
+    Optional<CandidateProfile> findAggregateByUserEmail(String email);
+
+    // just the version, for conditional GETs: answers If-None-Match without loading the aggregate
+    @Query("SELECT p.version FROM CandidateProfile p WHERE p.user.email = ?1")
+    Optional<Long> findVersionByUserEmail(String email);
+
+    // batch variant for matching, callers pass ~1k ids at a time
+    @EntityGraph(attributePaths = {"user", "education", "preferences", "skills"})
+    List<CandidateProfile> findAggregatesByCandidateIdIn(Collection<Long> candidateIds);
 }
@@ -0,0 +1,33 @@
+package com.internlink.backend.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.internlink.backend.entity.CandidateSkill;
+
+@Repository
+public interface CandidateSkillRepository extends JpaRepository<CandidateSkill, Long> {
+
+    // only the two columns the matching index needs, so we never hydrate CandidateSkill/CandidateProfile entities
+    // has to be consumed inside a transaction and closed (try-with-resources)
+    @Query("SELECT s.candidate.candidateId AS candidateId, s.skillName AS skillName FROM CandidateSkill s")
+    Stream<SkillRow> streamAllSkillRows();
+
+    // every spelling in use and how many profiles list it, for the skill vocabulary (a full scan, background only)
+    @Query("SELECT s.skillName AS skillName, COUNT(s) AS uses FROM CandidateSkill s GROUP BY s.skillName")
+    List<SkillUse> countSkillUses();
+
+    interface SkillUse {
+        String getSkillName();
+        long getUses();
+    }
+
+    interface SkillRow {
+        Long getCandidateId();
+        String getSkillName();
+    }
+}
@@ -1,5 +1,18 @@
 package com.internlink.backend.repository;
 
-public class InternshipRepository {
-    
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.internlink.backend.entity.Internship;
+
+@Repository
+public interface InternshipRepository extends JpaRepository<Internship, Long> {
+    List<Internship> findByStatus(String status);
+
+    // the required skill names of internships in this status, without loading the internships
+    @Query("SELECT DISTINCT KEY(w) FROM Internship i JOIN i.skillWeights w WHERE i.status = ?1")
+    List<String> findSkillNamesByStatus(String status);
 }
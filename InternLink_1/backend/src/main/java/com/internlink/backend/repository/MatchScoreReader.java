@@ -0,0 +1,130 @@
+package com.internlink.backend.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/*
+ * Reads an internship's matched candidates best first, for the recruiter listing and export. match_scores only
+ * holds an internship's best matching.scores.top-k (MatchScoreWriter), so that's where both end.
+ *
+ * Pages are keyset (seek) pages on (score, candidate_id), both descending: the next page starts strictly after
+ * the last row of the previous one, so page 500 costs the same as page 1 and rows don't shift or repeat when
+ * scores are rewritten between requests. Both directions descending lets Postgres compare it as one row value
+ * against the (internship_id, score, candidate_id) index.
+ */
+@Repository
+public class MatchScoreReader {
+
+    private static final String SELECT =
+            "SELECT m.candidate_id, m.score, m.computed_at, u.full_name, u.email, u.organization, p.city, p.state, "
+            + "(SELECT string_agg(s.skill_name, chr(31) ORDER BY s.skill_name) FROM candidate_skills s "
+            + " WHERE s.candidate_id = m.candidate_id) AS skills "
+            + "FROM match_scores m "
+            + "JOIN candidate_profiles p ON p.candidate_id = m.candidate_id "
+            + "JOIN users u ON u.user_id = p.user_id "
+            + "WHERE m.internship_id = ? ";
+
+    private static final String ORDER = "ORDER BY m.score DESC, m.candidate_id DESC ";
+
+    // package-private for RepositoryQueryPlanTest
+    static final String FIRST_PAGE = SELECT + ORDER + "LIMIT ?";
+    static final String NEXT_PAGE = SELECT + "AND (m.score, m.candidate_id) < (?, ?) " + ORDER + "LIMIT ?";
+    private static final String ALL = SELECT + ORDER;
+
+    private static final String SKILL_SEPARATOR = "\u001f"; // chr(31) above, skill names may well contain commas
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MatchScoreReader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public record CandidateMatch(Long candidateId, double score, LocalDateTime computedAt, String fullName,
+                                 String email, String organization, String city, String state, List<String> skills) {
+    }
+
+    // nextCursor is null on the last page
+    public record MatchPage(List<CandidateMatch> items, String nextCursor) {
+    }
+
+    // after is the nextCursor of the previous page, null for the first page
+    public MatchPage page(Long internshipId, String after, int limit) {
+        List<CandidateMatch> rows;
+        if (after == null) {
+            rows = jdbcTemplate.query(FIRST_PAGE, MAPPER, internshipId, limit + 1);
+        } else {
+            Cursor cursor = Cursor.decode(after);
+            rows = jdbcTemplate.query(NEXT_PAGE, MAPPER, internshipId, cursor.score(), cursor.candidateId(), limit + 1);
+        }
+        if (rows.size() <= limit) {
+            return new MatchPage(rows, null);
+        }
+        List<CandidateMatch> items = new ArrayList<>(rows.subList(0, limit));
+        CandidateMatch last = items.get(limit - 1);
+        return new MatchPage(items, new Cursor(last.score(), last.candidateId()).encode());
+    }
+
+    /*
+     * Every match for the internship, handed to the consumer one row at a time straight off a server-side cursor
+     * (the Postgres driver only streams with a fetch size inside a transaction, hence @Transactional).
+     * Nothing is accumulated, memory stays flat however many rows there are.
+     */
+    @Transactional(readOnly = true)
+    public void forEach(Long internshipId, Consumer<CandidateMatch> consumer) {
+        jdbcTemplate.query(connection -> {
+            var ps = connection.prepareStatement(ALL);
+            ps.setFetchSize(EXPORT_FETCH_SIZE);
+            ps.setLong(1, internshipId);
+            return ps;
+        }, rs -> {
+            consumer.accept(MAPPER.mapRow(rs, rs.getRow()));
+        });
+    }
+
+    private static final RowMapper<CandidateMatch> MAPPER = (ResultSet rs, int rowNum) -> {
+        Timestamp computedAt = rs.getTimestamp("computed_at");
+        String skills = rs.getString("skills");
+        return new CandidateMatch(
+                rs.getLong("candidate_id"),
+                rs.getDouble("score"),
+                computedAt == null ? null : computedAt.toLocalDateTime(),
+                rs.getString("full_name"),
+                rs.getString("email"),
+                rs.getString("organization"),
+                rs.getString("city"),
+                rs.getString("state"),
+                skills == null ? List.of() : List.of(skills.split(SKILL_SEPARATOR)));
+    };
+
+    // opaque to clients: base64url of "<score bits in hex>:<candidate id>", exact so no row is skipped or repeated
+    record Cursor(double score, long candidateId) {
+
+        String encode() {
+            String raw = Long.toHexString(Double.doubleToLongBits(score)) + ":" + candidateId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        static Cursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+                int colon = raw.indexOf(':');
+                return new Cursor(Double.longBitsToDouble(Long.parseUnsignedLong(raw.substring(0, colon), 16)),
+                        Long.parseLong(raw.substring(colon + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.internlink.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.internlink.backend.entity.MatchScore;
+
+@Repository
+public interface MatchScoreRepository extends JpaRepository<MatchScore, Long> {
+    List<MatchScore> findByCandidateId(Long candidateId);
+}
@@ -0,0 +1,132 @@
+package com.internlink.backend.repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.internlink.backend.entity.MatchScore;
+import com.internlink.backend.service.MatchingEngine.CandidateRescore;
+
+/*
+ * JDBC batch writes for match_scores, going through JPA would mean one select + one insert/update per row.
+ *
+ * Storage policy, the same for both writers: an internship keeps its best topK candidates (score, then
+ * candidate_id, descending, the listing order), nothing below. The bulk rematch writes exactly those; profile
+ * deltas upsert and then trim every internship they added rows to back to topK. A candidate dropping out of the
+ * stored top leaves an internship one row short until the next rematch refills it, the deltas only see the rows
+ * that are stored. The recruiter listing and export (MatchScoreReader) read these rows, so topK is as deep as
+ * they go.
+ */
+@Repository
+public class MatchScoreWriter {
+
+    private static final String UPSERT =
+            "INSERT INTO match_scores (candidate_id, internship_id, score, computed_at) VALUES (?, ?, ?, ?) "
+            + "ON CONFLICT (candidate_id, internship_id) DO UPDATE SET score = EXCLUDED.score, computed_at = EXCLUDED.computed_at";
+
+    private static final String DELETE =
+            "DELETE FROM match_scores WHERE candidate_id = ? AND internship_id = ?";
+
+    private static final String DELETE_INTERNSHIP =
+            "DELETE FROM match_scores WHERE internship_id = ?";
+
+    // everything after the internship's topK-th row, walked off the (internship_id, score, candidate_id) index;
+    // package-private for RepositoryQueryPlanTest
+    static final String TRIM =
+            "DELETE FROM match_scores WHERE internship_id = ? AND (score, candidate_id) < ("
+            + "SELECT score, candidate_id FROM match_scores WHERE internship_id = ? "
+            + "ORDER BY score DESC, candidate_id DESC OFFSET ? LIMIT 1)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int topK;
+
+    public MatchScoreWriter(JdbcTemplate jdbcTemplate, @Value("${matching.scores.top-k:500}") int topK) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.topK = topK;
+    }
+
+    // candidates kept per internship
+    public int topK() {
+        return topK;
+    }
+
+    /*
+     * Applies per-candidate deltas: every affected internship either gets its new score upserted
+     * or, if the candidate no longer matches it, its row deleted. Rows for other internships are left alone.
+     * Internships that got upserts are trimmed back to topK.
+     */
+    @Transactional
+    public void applyCandidateDeltas(List<CandidateRescore> rescores) {
+        List<MatchScore> upserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        Set<Long> grown = new LinkedHashSet<>();
+        for (CandidateRescore rescore : rescores) {
+            upserts.addAll(rescore.scores());
+            rescore.scores().forEach(score -> grown.add(score.getInternshipId()));
+            for (Long internshipId : rescore.affectedInternshipIds()) {
+                boolean stillMatches = rescore.scores().stream()
+                        .anyMatch(score -> score.getInternshipId().equals(internshipId));
+                if (!stillMatches) {
+                    deletes.add(new Object[] {rescore.candidateId(), internshipId});
+                }
+            }
+        }
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE, deletes);
+        }
+        upsert(upserts);
+        if (!grown.isEmpty()) {
+            List<Object[]> trims = new ArrayList<>(grown.size());
+            for (Long internshipId : grown) {
+                trims.add(new Object[] {internshipId, internshipId, topK - 1});
+            }
+            jdbcTemplate.batchUpdate(TRIM, trims);
+        }
+    }
+
+    /*
+     * Replaces the stored matches of each given internship with the new list (used by the bulk rematch), which
+     * the caller has already cut to topK. Returns the number of rows written.
+     */
+    @Transactional
+    public int replaceForInternships(Map<Long, List<MatchScore>> scoresByInternship) {
+        if (scoresByInternship.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> deletes = new ArrayList<>(scoresByInternship.size());
+        List<Object[]> inserts = new ArrayList<>();
+        for (Map.Entry<Long, List<MatchScore>> entry : scoresByInternship.entrySet()) {
+            deletes.add(new Object[] {entry.getKey()});
+            for (MatchScore score : entry.getValue()) {
+                inserts.add(new Object[] {
+                    score.getCandidateId(), score.getInternshipId(), score.getScore(), Timestamp.valueOf(score.getComputedAt())
+                });
+            }
+        }
+        jdbcTemplate.batchUpdate(DELETE_INTERNSHIP, deletes);
+        jdbcTemplate.batchUpdate(UPSERT, inserts);
+        return inserts.size();
+    }
+
+    @Transactional
+    public void upsert(List<MatchScore> scores) {
+        if (scores.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(scores.size());
+        for (MatchScore score : scores) {
+            args.add(new Object[] {
+                score.getCandidateId(), score.getInternshipId(), score.getScore(), Timestamp.valueOf(score.getComputedAt())
+            });
+        }
+        jdbcTemplate.batchUpdate(UPSERT, args);
+    }
+}
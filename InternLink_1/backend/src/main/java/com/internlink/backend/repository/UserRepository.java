@@ -1,10 +1,13 @@
 package com.internlink.backend.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.internlink.backend.entity.User;
 
@@ -27,12 +30,27 @@ import com.internlink.backend.entity.User;
 public interface UserRepository extends JpaRepository<User, Long> {
     // This is used in UserService to check if a user exists
     Optional<User> findByEmail(String email);
-    User findByPhone(String phone);
+    // signup's duplicate check in one round trip: at most one row per clashing user, via the email/phone unique indexes
+    @Query("SELECT u.email AS email, u.phone AS phone FROM User u WHERE u.email = ?1 OR u.phone = ?2")
+    List<ContactRow> findContactConflicts(String email, String phone);
     boolean existsByEmail(String email);
+    // rehash-on-login writes only the hash column, no read-modify-write of the whole user
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.passwordHash = ?2 WHERE u.userId = ?1")
+    int updatePasswordHash(Long userId, String passwordHash);
+    // used by TokenVersionCache for the stateless auth revocation check, a single int instead of the whole row
+    @Query("SELECT COALESCE(u.tokenVersion, 0) FROM User u WHERE u.userId = ?1")
+    Optional<Integer> findTokenVersionByUserId(Long userId);
     // This method is not used currently, but can be used for login functionality
     // The @Query annotation is used to define a custom query
     @Query(value="SELECT u FROM User u WHERE u.email = ?1 AND u.passwordHash = ?2", nativeQuery=true)// a custom query to find a user by email and password hash
     User findByEmailAndPasswordHash(String email, String passwordHash);// to use this we will call userRepository.findByEmailAndPasswordHash(email, passwordHash) in UserService
     //this is how we use custom queries ladies and gentlemen
 
+    interface ContactRow {
+        String getEmail();
+        String getPhone();
+    }
+
 }
\ No newline at end of file
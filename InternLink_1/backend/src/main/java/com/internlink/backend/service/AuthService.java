@@ -1,33 +1,51 @@
 package com.internlink.backend.service;
 
+import java.util.concurrent.Executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import com.internlink.backend.config.ReplicaRoutingDataSource;
 import com.internlink.backend.entity.User;
 import com.internlink.backend.repository.UserRepository;
 
 @Service
 public class AuthService {
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
     @Autowired
     private UserRepository userRepository;
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService; // bcrypt off the request thread, 429 when saturated
     @Autowired
     private JWTService jwtService; // Inject JWTService
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor taskExecutor; // Boot's async executor, virtual threads when spring.threads.virtual.enabled=true
     
 
     public String authenticateUser(String email, String password, String userType) {
-        System.out.println("Login attempt: email=" + email + ", userType=" + userType);
+        log.debug("Login attempt: email={}, userType={}", email, userType);
 
     // 1️⃣ Authenticate user normally
-        User user = userRepository.findByEmail(email)
+        // primary, not the replica: a user who signed up a moment ago or just changed their password must see it
+        User user = ReplicaRoutingDataSource.onPrimary(() -> userRepository.findByEmail(email))
                 .orElseThrow(() -> new IllegalArgumentException("Invalid email or password"));// this or elseThrow is supposed to be included if findByEmail is declared as optional in UserRepo
 
-        if (!passwordEncoder.matches(password, user.getPasswordHash())) {
+        if (!passwordHashingService.matches(password, user.getPasswordHash())) {
             throw new RuntimeException("Invalid password");
         }
 
+        // cost changed since this hash was made: upgrade it in the background, the login doesn't wait for it
+        if (passwordHashingService.needsRehash(user.getPasswordHash())) {
+            passwordHashingService.encodeAsync(password)
+                    // the UPDATE runs on the task executor so it doesn't hold a bcrypt thread while waiting on JDBC
+                    .thenAcceptAsync(hash -> userRepository.updatePasswordHash(user.getUserId(), hash), taskExecutor);
+        }
+
         // 2️⃣ Validate userType matches the stored one (candidate/recruiter)
 
         if (!user.getRole().equalsIgnoreCase(userType)) {
@@ -37,7 +55,7 @@ public class AuthService {
             );
         }
 
-        System.out.println("User found: " + user.getEmail() + ", role: " + user.getRole());
+        log.debug("User found: {}, role: {}", user.getEmail(), user.getRole());
 
 
         // 3️⃣ Generate JWT token
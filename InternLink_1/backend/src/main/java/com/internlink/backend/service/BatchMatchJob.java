@@ -0,0 +1,181 @@
+package com.internlink.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.internlink.backend.entity.Internship;
+import com.internlink.backend.entity.MatchScore;
+import com.internlink.backend.event.MatchesFoundEvent;
+import com.internlink.backend.repository.MatchScoreWriter;
+
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Bulk "rematch everything" on top of MatchingEngine.rematchAll: nightly on a cron, or on demand
+ * through MatchingController. Scoring runs on its own ForkJoinPool (one worker per core by default)
+ * so it never competes with request threads or the common pool; results go to match_scores with
+ * JDBC batches, writeChunk internships per transaction.
+ * Only one run at a time, a second trigger while running is ignored. Profile rescores (MatchRescoreQueue) wait
+ * for the run to finish, from the snapshot to the last write, so neither writer overwrites the other's newer rows.
+ */
+@Service
+public class BatchMatchJob {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchMatchJob.class);
+
+    private final MatchingEngine matchingEngine;
+    private final MatchScoreWriter matchScoreWriter;
+    private final MatchRescoreQueue matchRescoreQueue;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int shardSize;
+    private final int writeChunk;
+    private final ForkJoinPool pool;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(r -> new Thread(r, "batch-match-job"));
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final LongAdder candidatesScored = new LongAdder();
+    private volatile long candidatesTotal;
+    private volatile long internshipsTotal;
+    private volatile long rowsWritten;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile String lastError;
+
+    public BatchMatchJob(MatchingEngine matchingEngine,
+                         MatchScoreWriter matchScoreWriter,
+                         MatchRescoreQueue matchRescoreQueue,
+                         ApplicationEventPublisher eventPublisher,
+                         @Value("${matching.rematch.shard-size:2048}") int shardSize,
+                         @Value("${matching.rematch.write-chunk:50}") int writeChunk,
+                         @Value("${matching.rematch.parallelism:0}") int parallelism) {
+        this.matchingEngine = matchingEngine;
+        this.matchScoreWriter = matchScoreWriter;
+        this.matchRescoreQueue = matchRescoreQueue;
+        this.eventPublisher = eventPublisher;
+        this.shardSize = shardSize;
+        this.writeChunk = writeChunk;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Scheduled(cron = "${matching.rematch.cron:0 0 3 * * *}")
+    public void nightly() {
+        if (!start()) {
+            log.warn("Nightly rematch skipped, a run is already in progress");
+        }
+    }
+
+    // failed rescore writes that MatchRescoreQueue had to drop are only caught up by a full run; retried until one succeeds
+    @Scheduled(fixedDelayString = "${matching.rematch.catch-up-check-ms:300000}")
+    public void catchUp() {
+        if (matchRescoreQueue.rematchNeeded() && start()) {
+            log.info("Catch-up rematch started for dropped match score writes");
+        }
+    }
+
+    // kicks off a run in the background, false if one is already going
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        candidatesScored.reset();
+        candidatesTotal = matchingEngine.indexedCandidates();
+        internshipsTotal = matchingEngine.indexedInternships();
+        rowsWritten = 0;
+        lastError = null;
+        startedAt = System.currentTimeMillis();
+        finishedAt = 0;
+        runner.execute(this::run);
+        return true;
+    }
+
+    private void run() {
+        try {
+            matchRescoreQueue.pausedDuring(this::rematchAndWrite);
+            log.info("Rematch done: {} candidates x {} internships in {} ms, {} rows written",
+                    candidatesTotal, internshipsTotal, System.currentTimeMillis() - startedAt, rowsWritten);
+        } catch (RuntimeException e) {
+            lastError = e.getMessage();
+            log.error("Rematch failed", e);
+        } finally {
+            finishedAt = System.currentTimeMillis();
+            running.set(false);
+        }
+    }
+
+    private void rematchAndWrite() {
+        Map<Long, List<MatchScore>> results =
+                matchingEngine.rematchAll(matchScoreWriter.topK(), shardSize, pool, candidatesScored);
+
+        List<Long> internshipIds = new ArrayList<>(results.keySet());
+        for (int i = 0; i < internshipIds.size(); i += writeChunk) {
+            Map<Long, List<MatchScore>> chunk = new HashMap<>();
+            for (Long id : internshipIds.subList(i, Math.min(i + writeChunk, internshipIds.size()))) {
+                chunk.put(id, results.get(id));
+            }
+            rowsWritten += matchScoreWriter.replaceForInternships(chunk);
+        }
+    }
+
+    /*
+     * A newly posted internship doesn't need the whole batch, one pass over its posting lists is enough.
+     * Its best DEFAULT_TOP_K are all new top matches, they go out as a MatchesFoundEvent.
+     * (The nightly rematch sends nothing: it recomputes everything, it doesn't know what is new.)
+     */
+    public List<MatchScore> rematchInternship(Internship internship) {
+        matchingEngine.indexInternship(internship);
+        List<MatchScore> top = matchingEngine.topMatches(internship, matchScoreWriter.topK());
+        matchScoreWriter.replaceForInternships(Map.of(internship.getInternshipId(), top));
+
+        Long recruiterId = internship.getRecruiter() == null ? null : internship.getRecruiter().getUserId();
+        List<MatchingEngine.TopMatch> announced = new ArrayList<>();
+        for (int rank = 0; rank < Math.min(top.size(), MatchingEngine.DEFAULT_TOP_K); rank++) {
+            MatchScore match = top.get(rank);
+            announced.add(new MatchingEngine.TopMatch(match.getCandidateId(), match.getInternshipId(), recruiterId,
+                    match.getScore(), rank));
+        }
+        if (!announced.isEmpty()) {
+            eventPublisher.publishEvent(new MatchesFoundEvent(announced));
+        }
+        return top;
+    }
+
+    public Progress progress() {
+        long scored = candidatesScored.sum();
+        long end = finishedAt > 0 ? finishedAt : System.currentTimeMillis();
+        long elapsed = startedAt == 0 ? 0 : end - startedAt;
+        double perSecond = elapsed == 0 ? 0 : scored * 1000.0 / elapsed;
+        return new Progress(running.get(), scored, candidatesTotal, internshipsTotal, rowsWritten,
+                elapsed, perSecond, pool.getParallelism(), lastError);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    public record Progress(boolean running,
+                           long candidatesScored,
+                           long candidatesTotal,
+                           long internships,
+                           long rowsWritten,
+                           long elapsedMs,
+                           double candidatesPerSecond,
+                           int parallelism,
+                           String lastError) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.internlink.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/*
+ * In-memory RateLimitStore: one small immutable Bucket per key in a Caffeine cache.
+ *
+ * A take is a single compute() on the cache's map, so it is atomic per key and only locks that key's bin;
+ * different keys don't contend. Tokens are refilled lazily from the elapsed time, nothing runs in the background.
+ * Each bucket expires when it would be full again, which is exactly when forgetting it changes nothing,
+ * so idle clients cost no memory. maxKeys bounds the map if someone sprays random emails/IPs at us.
+ */
+public class CaffeineRateLimitStore implements RateLimitStore {
+
+    // tokens as of updatedAt (ticker nanos); fullIn = nanos from updatedAt until the bucket is full again
+    private record Bucket(double tokens, long updatedAt, long fullIn) {
+    }
+
+    private final Ticker ticker;
+    private final Cache<String, Bucket> buckets;
+
+    public CaffeineRateLimitStore(long maxKeys) {
+        this(maxKeys, Ticker.systemTicker());
+    }
+
+    CaffeineRateLimitStore(long maxKeys, Ticker ticker) {
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfter(new UntilFull())
+                .ticker(ticker)
+                .build();
+    }
+
+    @Override
+    public long tryConsume(String key, int capacity, long nanosPerToken) {
+        long now = ticker.read();
+        long[] wait = new long[1];
+        buckets.asMap().compute(key, (k, bucket) -> {
+            double tokens = bucket == null
+                    ? capacity
+                    : Math.min(capacity, bucket.tokens() + (double) (now - bucket.updatedAt()) / nanosPerToken);
+            if (tokens >= 1) {
+                tokens -= 1;
+            } else {
+                wait[0] = (long) Math.ceil((1 - tokens) * nanosPerToken);
+            }
+            return new Bucket(tokens, now, (long) Math.ceil((capacity - tokens) * nanosPerToken));
+        });
+        return wait[0];
+    }
+
+    int size() {
+        buckets.cleanUp();
+        return (int) buckets.estimatedSize();
+    }
+
+    private static final class UntilFull implements Expiry<String, Bucket> {
+        @Override
+        public long expireAfterCreate(String key, Bucket bucket, long currentTime) {
+            return bucket.fullIn();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Bucket bucket, long currentTime, long currentDuration) {
+            return bucket.fullIn();
+        }
+
+        @Override
+        public long expireAfterRead(String key, Bucket bucket, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
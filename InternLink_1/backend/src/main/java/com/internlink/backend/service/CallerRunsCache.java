@@ -0,0 +1,77 @@
+package com.internlink.backend.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/*
+ * Read-through cache whose loader runs on the calling thread, outside any lock.
+ *
+ * A plain Caffeine Cache.get(key, loader) runs the loader inside ConcurrentHashMap.compute, i.e. under a
+ * synchronized bin lock. When the loader does JDBC on a virtual thread that pins the carrier for the whole
+ * query. Here the first caller parks an incomplete future in the map and loads outside it; concurrent
+ * callers for the same key wait on that future (parking, not pinning) so there is still one load per key.
+ * Running on the caller also keeps its transaction and security context.
+ *
+ * Null results are not cached, a failed load is dropped and rethrown to everyone waiting on it.
+ */
+class CallerRunsCache<K, V> {
+
+    private final AsyncCache<K, V> cache;
+
+    CallerRunsCache(Caffeine<Object, Object> builder) {
+        this.cache = builder.buildAsync();
+    }
+
+    V get(K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> cached = cache.getIfPresent(key); // counts the hit/miss
+        if (cached == null) {
+            CompletableFuture<V> mine = new CompletableFuture<>();
+            cached = cache.asMap().putIfAbsent(key, mine);
+            if (cached == null) {
+                return load(key, loader, mine);
+            }
+        }
+        try {
+            return cached.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    // caches the value unless the key has an entry (or a load in flight); returns the stored entry, null if it wasn't stored
+    CompletableFuture<V> putIfAbsent(K key, V value) {
+        CompletableFuture<V> entry = CompletableFuture.completedFuture(value);
+        return cache.asMap().putIfAbsent(key, entry) == null ? entry : null;
+    }
+
+    // removes the key only while it still maps to that entry
+    void remove(K key, CompletableFuture<V> entry) {
+        cache.asMap().remove(key, entry);
+    }
+
+    void invalidate(K key) {
+        cache.synchronous().invalidate(key);
+    }
+
+    // synchronous view, for metrics binders
+    Cache<K, V> view() {
+        return cache.synchronous();
+    }
+
+    private V load(K key, Function<? super K, ? extends V> loader, CompletableFuture<V> mine) {
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        mine.complete(value); // completing with null removes the entry
+        return value;
+    }
+}
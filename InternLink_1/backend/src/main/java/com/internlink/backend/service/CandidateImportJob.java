@@ -0,0 +1,276 @@
+package com.internlink.backend.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.internlink.backend.dto.CandidateImportRow;
+import com.internlink.backend.exception.ConflictException;
+import com.internlink.backend.repository.CandidateImportWriter;
+import com.internlink.backend.repository.CandidateImportWriter.ImportedCandidate;
+import com.internlink.backend.repository.CandidateImportWriter.TakenContacts;
+
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Bulk candidate import (university rosters) in the background, triggered through ImportController.
+ *
+ * The uploaded file is read one record at a time (CandidateImportReader) and processed in chunks of chunkSize:
+ * rows are validated, checked for duplicates against the file so far and against users (one query per chunk),
+ * their passwords hashed in parallel on the import's own pool, and the chunk written with two JDBC batches
+ * (CandidateImportWriter). bcrypt dominates the run time, so the pool defaults to half the cores to leave the
+ * rest to logins; the cost is the same one PasswordHashingService uses.
+ *
+ * A chunk that still trips a unique constraint (someone signed up meanwhile) is retried row by row so only
+ * the offending rows fail. Every failed row is reported with its line number, up to maxReportedErrors.
+ * Only one import runs at a time.
+ */
+@Service
+public class CandidateImportJob {
+
+    private static final Logger log = LoggerFactory.getLogger(CandidateImportJob.class);
+
+    public enum Format { CSV, NDJSON }
+
+    private final CandidateImportWriter writer;
+    private final PasswordEncoder encoder;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final ForkJoinPool hashPool;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(r -> new Thread(r, "candidate-import-job"));
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final List<RowError> errors = new ArrayList<>(); // guarded by itself
+    private volatile Format format;
+    private volatile long rowsRead;
+    private volatile long imported;
+    private volatile long failed;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile String lastError;
+
+    public CandidateImportJob(CandidateImportWriter writer,
+                              PasswordHashingService passwordHashingService,
+                              ObjectMapper objectMapper,
+                              @Value("${import.chunk-size:500}") int chunkSize,
+                              @Value("${import.hash-threads:0}") int hashThreads,
+                              @Value("${import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.writer = writer;
+        this.encoder = passwordHashingService.encoder();
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.hashPool = new ForkJoinPool(hashThreads > 0
+                ? hashThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    /*
+     * Starts importing the file in the background, false if an import is already running.
+     * The job owns the file from here on and deletes it when done.
+     */
+    public boolean start(Path file, Format format) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        this.format = format;
+        rowsRead = 0;
+        imported = 0;
+        failed = 0;
+        lastError = null;
+        synchronized (errors) {
+            errors.clear();
+        }
+        startedAt = System.currentTimeMillis();
+        finishedAt = 0;
+        runner.execute(() -> run(file, format));
+        return true;
+    }
+
+    private void run(Path file, Format format) {
+        Set<String> seenEmails = new HashSet<>();
+        Set<String> seenPhones = new HashSet<>();
+        List<Pending> chunk = new ArrayList<>(chunkSize);
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             CandidateImportReader reader = format == Format.CSV
+                     ? CandidateImportReader.csv(in)
+                     : CandidateImportReader.ndjson(in, objectMapper)) {
+            CandidateImportReader.Parsed parsed;
+            while ((parsed = reader.next()) != null) {
+                rowsRead++;
+                String error = parsed.error() != null ? parsed.error() : validate(parsed.row());
+                if (error == null && !seenEmails.add(parsed.row().getEmail())) {
+                    error = "Duplicate email in file";
+                }
+                if (error == null && parsed.row().getPhone() != null && !seenPhones.add(parsed.row().getPhone())) {
+                    error = "Duplicate phone in file";
+                }
+                if (error != null) {
+                    fail(parsed.line(), parsed.row(), error);
+                    continue;
+                }
+                chunk.add(new Pending(parsed.line(), parsed.row()));
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk);
+            }
+            log.info("Candidate import done: {} rows, {} imported, {} failed in {} ms",
+                    rowsRead, imported, failed, System.currentTimeMillis() - startedAt);
+        } catch (IOException | RuntimeException e) {
+            lastError = e.getMessage();
+            log.error("Candidate import failed after {} rows", rowsRead, e);
+        } catch (InterruptedException e) {
+            lastError = "Interrupted";
+            Thread.currentThread().interrupt();
+        } finally {
+            finishedAt = System.currentTimeMillis();
+            running.set(false);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete import file {}", file, e);
+            }
+        }
+    }
+
+    private void importChunk(List<Pending> chunk) throws InterruptedException {
+        List<String> emails = new ArrayList<>(chunk.size());
+        List<String> phones = new ArrayList<>(chunk.size());
+        for (Pending pending : chunk) {
+            emails.add(pending.row().getEmail());
+            if (pending.row().getPhone() != null) {
+                phones.add(pending.row().getPhone());
+            }
+        }
+        TakenContacts taken = writer.findTaken(emails, phones);
+
+        List<Pending> fresh = new ArrayList<>(chunk.size());
+        for (Pending pending : chunk) {
+            if (taken.emails().contains(pending.row().getEmail())) {
+                fail(pending.line(), pending.row(), "Email already registered");
+            } else if (pending.row().getPhone() != null && taken.phones().contains(pending.row().getPhone())) {
+                fail(pending.line(), pending.row(), "Phone number already registered");
+            } else {
+                fresh.add(pending);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        List<ImportedCandidate> hashed;
+        try {
+            // a parallel stream started from inside the pool runs on that pool, not the common one
+            hashed = hashPool.submit(() -> fresh.parallelStream()
+                    .map(p -> new ImportedCandidate(p.row(), encoder.encode(p.row().getPassword())))
+                    .toList()).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+
+        try {
+            imported += writer.insert(hashed);
+        } catch (DataIntegrityViolationException e) {
+            // someone else took one of these emails/phones since findTaken: find out which, keep the rest
+            for (int i = 0; i < hashed.size(); i++) {
+                try {
+                    imported += writer.insert(List.of(hashed.get(i)));
+                } catch (DataIntegrityViolationException rowError) {
+                    fail(fresh.get(i).line(), fresh.get(i).row(), ConflictException.from(rowError).getMessage());
+                }
+            }
+        }
+    }
+
+    private static String validate(CandidateImportRow row) {
+        if (isBlank(row.getFullName())) {
+            return "fullName is required";
+        }
+        if (isBlank(row.getEmail()) || !row.getEmail().contains("@")) {
+            return "A valid email is required";
+        }
+        if (isBlank(row.getPassword())) {
+            return "password is required";
+        }
+        if (row.getPhone() != null && row.getPhone().length() > 20) {
+            return "phone is longer than 20 characters";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private void fail(long line, CandidateImportRow row, String message) {
+        failed++;
+        synchronized (errors) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new RowError(line, row == null ? null : row.getEmail(), message));
+            }
+        }
+    }
+
+    public Progress progress() {
+        long end = finishedAt > 0 ? finishedAt : System.currentTimeMillis();
+        long elapsed = startedAt == 0 ? 0 : end - startedAt;
+        long read = rowsRead;
+        List<RowError> reported;
+        synchronized (errors) {
+            reported = List.copyOf(errors);
+        }
+        return new Progress(running.get(), format, read, imported, failed, elapsed,
+                elapsed == 0 ? 0 : read * 1000.0 / elapsed, hashPool.getParallelism(),
+                reported, failed > reported.size(), lastError);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+        hashPool.shutdownNow();
+    }
+
+    private record Pending(long line, CandidateImportRow row) {
+    }
+
+    // email is null when the record couldn't be parsed at all
+    public record RowError(long line, String email, String message) {
+    }
+
+    public record Progress(boolean running,
+                           Format format,
+                           long rowsRead,
+                           long imported,
+                           long failed,
+                           long elapsedMs,
+                           double rowsPerSecond,
+                           int hashThreads,
+                           List<RowError> errors,
+                           boolean errorsTruncated,
+                           String lastError) {
+    }
+}
@@ -0,0 +1,184 @@
+package com.internlink.backend.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.internlink.backend.dto.CandidateImportRow;
+
+/*
+ * Reads a bulk-import file one row at a time, never holding more than the current record in memory.
+ *
+ * CSV: first line is the header, columns are matched by name (fullName or full_name, any case), unknown
+ * columns are ignored. Quoted fields may contain commas, newlines and "" escapes.
+ * NDJSON: one CandidateImportRow object per line, blank lines skipped.
+ *
+ * A malformed record is returned with an error instead of failing the whole file.
+ */
+abstract class CandidateImportReader implements Closeable {
+
+    // line = where the record starts (1-based); row is null when error is set
+    record Parsed(long line, CandidateImportRow row, String error) {
+    }
+
+    protected final BufferedReader in;
+    protected long lineNumber; // last line consumed
+
+    protected CandidateImportReader(Reader in) {
+        this.in = in instanceof BufferedReader buffered ? buffered : new BufferedReader(in, 64 * 1024);
+    }
+
+    // next record, null at end of input
+    abstract Parsed next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    static CandidateImportReader csv(Reader in) {
+        return new Csv(in);
+    }
+
+    static CandidateImportReader ndjson(Reader in, ObjectMapper objectMapper) {
+        return new Ndjson(in, objectMapper);
+    }
+
+    private static final class Ndjson extends CandidateImportReader {
+        private final ObjectMapper objectMapper;
+
+        Ndjson(Reader in, ObjectMapper objectMapper) {
+            super(in);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        Parsed next() throws IOException {
+            String line;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    return new Parsed(lineNumber, objectMapper.readValue(line, CandidateImportRow.class), null);
+                } catch (JsonProcessingException e) {
+                    return new Parsed(lineNumber, null, "Invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Csv extends CandidateImportReader {
+        private static final Map<String, BiConsumer<CandidateImportRow, String>> COLUMNS = Map.of(
+                "fullname", CandidateImportRow::setFullName,
+                "email", CandidateImportRow::setEmail,
+                "password", CandidateImportRow::setPassword,
+                "phone", CandidateImportRow::setPhone,
+                "organization", CandidateImportRow::setOrganization,
+                "gender", CandidateImportRow::setGender,
+                "city", CandidateImportRow::setCity,
+                "state", CandidateImportRow::setState,
+                "category", CandidateImportRow::setCategory);
+
+        private List<BiConsumer<CandidateImportRow, String>> header; // setter per column index, null = ignored column
+        private final StringBuilder field = new StringBuilder();
+
+        Csv(Reader in) {
+            super(in);
+        }
+
+        @Override
+        Parsed next() throws IOException {
+            if (header == null) {
+                List<String> names = readRecord();
+                if (names == null) {
+                    return null;
+                }
+                header = new ArrayList<>(names.size());
+                for (String name : names) {
+                    String key = name.trim().replace("_", "").toLowerCase(Locale.ROOT);
+                    header.add(COLUMNS.get(key));
+                }
+            }
+
+            List<String> values;
+            long start;
+            do {
+                start = lineNumber + 1;
+                values = readRecord();
+                if (values == null) {
+                    return null;
+                }
+            } while (values.size() == 1 && values.get(0).isBlank()); // blank line
+
+            if (values.size() > header.size()) {
+                return new Parsed(start, null, "Expected " + header.size() + " columns, found " + values.size());
+            }
+            CandidateImportRow row = new CandidateImportRow();
+            for (int i = 0; i < values.size(); i++) {
+                BiConsumer<CandidateImportRow, String> setter = header.get(i);
+                String value = values.get(i).trim();
+                if (setter != null && !value.isEmpty()) {
+                    setter.accept(row, value);
+                }
+            }
+            return new Parsed(start, row, null);
+        }
+
+        // one RFC 4180 record (may span lines inside quotes), null at end of input
+        private List<String> readRecord() throws IOException {
+            int c = in.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> values = new ArrayList<>();
+            field.setLength(0);
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        break; // unterminated quote, take what we have
+                    }
+                    if (c == '"') {
+                        in.mark(1);
+                        int peek = in.read();
+                        if (peek == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            in.reset();
+                        }
+                    } else {
+                        if (c == '\n') {
+                            lineNumber++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = in.read();
+            }
+            lineNumber++;
+            values.add(field.toString());
+            return values;
+        }
+    }
+}
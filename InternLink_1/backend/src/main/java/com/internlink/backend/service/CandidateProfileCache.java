@@ -0,0 +1,109 @@
+package com.internlink.backend.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.internlink.backend.entity.CandidateProfile;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/*
+ * Near-cache of assembled CandidateProfile aggregates, by email (what the controllers have) and by user id.
+ * Read-through: a miss loads via the given loader (on the caller, see CallerRunsCache) and stores the result under both keys.
+ * The copy under the other key is only added if no invalidation happened since the read started (and never
+ * replaces an entry), so a write committing in between can't put its old state back there.
+ * Bounded by size and TTL; CandidateService invalidates on every write, the TTL only covers
+ * writes made by other nodes.
+ * Hit/miss/eviction counts are published as cache.* meters named candidateProfilesByEmail / ...ByUserId.
+ * Cached profiles are shared between requests, treat them as read only.
+ */
+@Component
+public class CandidateProfileCache {
+
+    private final CallerRunsCache<String, CandidateProfile> byEmail;
+    private final CallerRunsCache<Long, CandidateProfile> byUserId;
+
+    // bumped by every invalidate; one counter for all keys, a write anywhere just skips cross-population for a moment
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public CandidateProfileCache(MeterRegistry meterRegistry,
+                                 @Value("${cache.candidate-profile.max-size:20000}") long maxSize,
+                                 @Value("${cache.candidate-profile.ttl-seconds:300}") long ttlSeconds) {
+        this.byEmail = build(maxSize, ttlSeconds);
+        this.byUserId = build(maxSize, ttlSeconds);
+        CaffeineCacheMetrics.monitor(meterRegistry, byEmail.view(), "candidateProfilesByEmail");
+        CaffeineCacheMetrics.monitor(meterRegistry, byUserId.view(), "candidateProfilesByUserId");
+    }
+
+    private static <K> CallerRunsCache<K, CandidateProfile> build(long maxSize, long ttlSeconds) {
+        return new CallerRunsCache<>(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats());
+    }
+
+    public CandidateProfile getByEmail(String email, Function<String, CandidateProfile> loader) {
+        long seen = invalidations.get();
+        CandidateProfile profile = byEmail.get(email, loader);
+        if (profile != null && profile.getUser() != null) {
+            crossPopulate(byUserId, profile.getUser().getUserId(), profile, seen);
+        }
+        return profile;
+    }
+
+    public CandidateProfile getByUserId(Long userId, Function<Long, CandidateProfile> loader) {
+        long seen = invalidations.get();
+        CandidateProfile profile = byUserId.get(userId, loader);
+        if (profile != null && profile.getUser() != null) {
+            crossPopulate(byEmail, profile.getUser().getEmail(), profile, seen);
+        }
+        return profile;
+    }
+
+    /*
+     * An invalidation before the put is caught by the first check or the one after it (which takes our entry
+     * back out), one after the put removes the entry itself.
+     */
+    private <K> void crossPopulate(CallerRunsCache<K, CandidateProfile> cache, K key, CandidateProfile profile, long seen) {
+        if (invalidations.get() != seen) {
+            return;
+        }
+        CompletableFuture<CandidateProfile> entry = cache.putIfAbsent(key, profile);
+        if (entry != null && invalidations.get() != seen) {
+            cache.remove(key, entry);
+        }
+    }
+
+    // inside a transaction the entries are dropped after commit, otherwise a concurrent read could re-cache the old row
+    public void invalidateAfterCommit(String email, Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(email, userId);
+                }
+            });
+        } else {
+            invalidate(email, userId);
+        }
+    }
+
+    public void invalidate(String email, Long userId) {
+        invalidations.incrementAndGet(); // before removing, see crossPopulate
+        if (email != null) {
+            byEmail.invalidate(email);
+        }
+        if (userId != null) {
+            byUserId.invalidate(userId);
+        }
+    }
+}
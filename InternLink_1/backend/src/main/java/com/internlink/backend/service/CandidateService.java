@@ -1,42 +1,386 @@
 package com.internlink.backend.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.internlink.backend.config.ReadYourWritesTracker;
+import com.internlink.backend.dto.CandidateProfilePatch;
+import com.internlink.backend.entity.CandidateEducation;
+import com.internlink.backend.entity.CandidatePreference;
 import com.internlink.backend.entity.CandidateProfile;
+import com.internlink.backend.entity.CandidateSkill;
 import com.internlink.backend.entity.User;
+import com.internlink.backend.event.CandidateProfileChangedEvent;
+import com.internlink.backend.exception.PreconditionFailedException;
 import com.internlink.backend.repository.CandidateProfileRepository;
 import com.internlink.backend.repository.UserRepository;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+
 @Service
 public class CandidateService {
 
+    private static final int AGGREGATE_BATCH = 1000;
+
     @Autowired
     private CandidateProfileRepository candidateProfileRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CandidateProfileCache candidateProfileCache;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWrites;
+
+    @Autowired
+    private SkillVocabulary skillVocabulary;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // served from the near-cache, the two queries below only run on a miss
     public CandidateProfile getCandidateProfileByEmail(String email) {
-        User user = userRepository.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        return candidateProfileRepository.findByUserUserId(user.getUserId())
+        return candidateProfileCache.getByEmail(email, this::loadProfileByEmail);
+    }
+
+    /*
+     * Conditional GET that didn't match: currentVersion was just read from the database, so a cached copy with
+     * another version (written through a different instance, still within the cache TTL) is dropped and
+     * reloaded instead of being served under a stale ETag.
+     */
+    public CandidateProfile getCandidateProfileByEmail(String email, Long currentVersion) {
+        CandidateProfile profile = getCandidateProfileByEmail(email);
+        if (currentVersion != null && !currentVersion.equals(profile.getVersion())) {
+            candidateProfileCache.invalidate(email, profile.getUser().getUserId());
+            profile = getCandidateProfileByEmail(email);
+        }
+        return profile;
+    }
+
+    // the profile's version alone (null: no profile yet), what an If-None-Match is compared against
+    @Transactional(readOnly = true)
+    public Long getProfileVersion(String email) {
+        return candidateProfileRepository.findVersionByUserEmail(email).orElse(null);
+    }
+
+    // usually someone else's profile: the principal-based read-your-writes routing doesn't know it was just saved
+    public CandidateProfile getCandidateProfileByUserId(Long userId) {
+        return candidateProfileCache.getByUserId(userId, id -> readYourWrites.readFresh(id,
+            () -> loadProfile(userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found")))));
+    }
+
+    // batch load for matching and bulk jobs, chunked so each IN list stays at AGGREGATE_BATCH ids
+    @Transactional(readOnly = true)
+    public List<CandidateProfile> getCandidateProfiles(Collection<Long> candidateIds) {
+        List<Long> ids = new ArrayList<>(candidateIds);
+        List<CandidateProfile> profiles = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i += AGGREGATE_BATCH) {
+            profiles.addAll(candidateProfileRepository.findAggregatesByCandidateIdIn(
+                    ids.subList(i, Math.min(i + AGGREGATE_BATCH, ids.size()))));
+        }
+        return profiles;
+    }
+
+    // one query for the whole aggregate when the profile exists, the users lookup only happens for first-time visitors
+    private CandidateProfile loadProfileByEmail(String email) {
+        return candidateProfileRepository.findAggregateByUserEmail(email)
+            .orElseGet(() -> loadProfile(userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"))));
+    }
+
+    /*
+     * No profile yet: hand back an empty, unsaved one. The row is created by the first saveOrUpdateProfile.
+     * (This used to insert it right here, a write on a GET that could also run twice when the read came from
+     * a replica that hadn't seen the first insert yet.)
+     */
+    private CandidateProfile loadProfile(User user) {
+        return candidateProfileRepository.findAggregateByUserUserId(user.getUserId())
             .orElseGet(() -> {
                 CandidateProfile newProfile = new CandidateProfile();
                 newProfile.setUser(user);
-                return candidateProfileRepository.save(newProfile);
+                return newProfile;
             });
     }
 
+    @Transactional
     public CandidateProfile saveOrUpdateProfile(String email, CandidateProfile updatedProfile) {
+        return saveOrUpdateProfile(email, updatedProfile, null);
+    }
+
+    // expectedVersion is the client's If-Match (null: overwrite whatever is stored)
+    @Transactional
+    public CandidateProfile saveOrUpdateProfile(String email, CandidateProfile updatedProfile, Long expectedVersion) {
         User user = userRepository.findByEmail(email)
             .orElseThrow(() -> new RuntimeException("User not found"));
 
-        CandidateProfile existing = candidateProfileRepository.findByUserUserId(user.getUserId())
+        CandidateProfile existing = candidateProfileRepository.findAggregateByUserUserId(user.getUserId())
             .orElse(new CandidateProfile());
+        checkVersion(existing, expectedVersion);
+        Long before = existing.getVersion();
 
         updatedProfile.setUser(user);
         updatedProfile.setCandidateId(existing.getCandidateId());
-        return candidateProfileRepository.save(updatedProfile);
+        updatedProfile.setVersion(before); // whatever the body said, a detached copy without it would merge as new
+        attachChildren(updatedProfile, existing);
+        CandidateProfile saved = candidateProfileRepository.save(updatedProfile);
+        bumpVersion(saved, before);
+        candidateProfileCache.invalidateAfterCommit(email, user.getUserId());
+        readYourWrites.recordWrite(user.getUserId()); // reloads of this profile skip the replica for a while
+
+        // matching picks this up asynchronously (MatchRescoreQueue), repeated saves get coalesced there
+        eventPublisher.publishEvent(toChangedEvent(saved.getCandidateId(), updatedProfile, null));
+        return saved;
+    }
+
+    /*
+     * What a PATCH changed: the profile columns (education.* / preferences.* for the child rows) whose value
+     * actually differs, and the skills added / removed. Goes back to the client and out on
+     * CandidateProfileChangedEvent, so listeners can ignore changes they don't depend on.
+     */
+    public record ProfileChanges(Long candidateId, Long version, Set<String> fields, List<String> addedSkills,
+                                 List<String> removedSkills) {
+
+        public boolean isEmpty() {
+            return fields.isEmpty() && !skillsChanged();
+        }
+
+        public boolean skillsChanged() {
+            return !addedSkills.isEmpty() || !removedSkills.isEmpty();
+        }
+    }
+
+    /*
+     * Applies the delta to the managed aggregate instead of merging a whole detached profile: only fields whose
+     * value differs are set, so the UPDATEs (@DynamicUpdate) carry just those columns, and skill rows that stay
+     * are never touched (removals are orphan deletes, additions one batched insert). Nothing changed means no
+     * writes, no cache invalidation and no event. A first PATCH creates the profile.
+     */
+    @Transactional
+    public ProfileChanges patchProfile(String email, CandidateProfilePatch patch) {
+        return patchProfile(email, patch, null);
+    }
+
+    // expectedVersion is the client's If-Match (null: apply to whatever is stored)
+    @Transactional
+    public ProfileChanges patchProfile(String email, CandidateProfilePatch patch, Long expectedVersion) {
+        User user = userRepository.findByEmail(email)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+        CandidateProfile profile = candidateProfileRepository.findAggregateByUserUserId(user.getUserId())
+            .orElseGet(() -> {
+                CandidateProfile created = new CandidateProfile();
+                created.setUser(user);
+                return created;
+            });
+        checkVersion(profile, expectedVersion);
+        Long before = profile.getVersion();
+
+        Set<String> fields = new LinkedHashSet<>();
+        apply(fields, "gender", patch.getGender(), profile.getGender(), profile::setGender);
+        apply(fields, "city", patch.getCity(), profile.getCity(), profile::setCity);
+        apply(fields, "state", patch.getState(), profile.getState(), profile::setState);
+        apply(fields, "category", patch.getCategory(), profile.getCategory(), profile::setCategory);
+        patchEducation(profile, patch.getEducation(), fields);
+        patchPreferences(profile, patch.getPreferences(), fields);
+        List<String> removed = removeSkills(profile, patch.getRemoveSkills());
+        List<String> added = addSkills(profile, patch.getAddSkills());
+
+        if (fields.isEmpty() && removed.isEmpty() && added.isEmpty()) {
+            return new ProfileChanges(profile.getCandidateId(), before, fields, added, removed);
+        }
+        if (profile.getCandidateId() == null) {
+            profile = candidateProfileRepository.save(profile);
+        }
+        bumpVersion(profile, before);
+        ProfileChanges changes = new ProfileChanges(profile.getCandidateId(), profile.getVersion(), fields, added, removed);
+        candidateProfileCache.invalidateAfterCommit(email, user.getUserId());
+        readYourWrites.recordWrite(user.getUserId());
+        eventPublisher.publishEvent(toChangedEvent(profile.getCandidateId(), profile, changes));
+        return changes;
+    }
+
+    // If-Match: the client's copy has to be the stored one, and a profile that doesn't exist yet matches no version
+    private static void checkVersion(CandidateProfile profile, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(profile.getVersion())) {
+            throw new PreconditionFailedException("Profile has changed since version " + expectedVersion);
+        }
+    }
+
+    /*
+     * The version lives on the profile row and Hibernate only bumps it when a profile column changes, so an edit
+     * that only touched education / preferences / skills gets the increment here. Both are the same versioned
+     * UPDATE (... SET version = ? WHERE candidate_id = ? AND version = ?, no SELECT ... FOR UPDATE; the
+     * PESSIMISTIC_ name is just what makes Hibernate run it now rather than at commit): a writer that committed
+     * since we read the profile makes it match nothing and the transaction fails with an optimistic lock error
+     * (412 in GlobalExceptionHandler). Flushed here so the returned profile already carries the new version.
+     */
+    private void bumpVersion(CandidateProfile profile, Long before) {
+        candidateProfileRepository.flush();
+        if (before != null && before.equals(profile.getVersion())) {
+            entityManager.lock(profile, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        }
+    }
+
+    // null = leave it, "" = clear it
+    private static void apply(Set<String> fields, String name, String value, String current, Consumer<String> setter) {
+        if (value == null) {
+            return;
+        }
+        String next = value.isEmpty() ? null : value;
+        if (!Objects.equals(next, current)) {
+            setter.accept(next);
+            fields.add(name);
+        }
+    }
+
+    private static void patchEducation(CandidateProfile profile, CandidateProfilePatch.Education patch, Set<String> fields) {
+        if (patch == null) {
+            return;
+        }
+        CandidateEducation education = profile.getEducation() != null ? profile.getEducation() : new CandidateEducation();
+        int before = fields.size();
+        apply(fields, "education.level", patch.getLevel(), education.getLevel(), education::setLevel);
+        apply(fields, "education.institution", patch.getInstitution(), education.getInstitution(), education::setInstitution);
+        apply(fields, "education.graduationYear", patch.getGraduationYear(), education.getGraduationYear(),
+                education::setGraduationYear);
+        if (profile.getEducation() == null && fields.size() > before) {
+            education.setCandidate(profile);
+            profile.setEducation(education);
+        }
+    }
+
+    private static void patchPreferences(CandidateProfile profile, CandidateProfilePatch.Preferences patch,
+                                         Set<String> fields) {
+        if (patch == null) {
+            return;
+        }
+        CandidatePreference preferences = profile.getPreferences() != null ? profile.getPreferences()
+                : new CandidatePreference();
+        int before = fields.size();
+        apply(fields, "preferences.preferredDomain", patch.getPreferredDomain(), preferences.getPreferredDomain(),
+                preferences::setPreferredDomain);
+        apply(fields, "preferences.preferredLocation", patch.getPreferredLocation(), preferences.getPreferredLocation(),
+                preferences::setPreferredLocation);
+        if (profile.getPreferences() == null && fields.size() > before) {
+            preferences.setCandidate(profile);
+            profile.setPreferences(preferences);
+        }
+    }
+
+    // matched like addSkills stores them ("Pyhton" removes the stored "Python"), and as typed, for rows saved before
+    // the vocabulary had the term
+    private List<String> removeSkills(CandidateProfile profile, List<String> names) {
+        List<String> removed = new ArrayList<>();
+        if (names == null || names.isEmpty()) {
+            return removed;
+        }
+        Set<String> keys = new HashSet<>();
+        for (String name : names) {
+            String key = SkillIndex.normalize(name);
+            if (key != null) {
+                keys.add(key);
+                keys.add(SkillIndex.normalize(skillVocabulary.lookup(name)));
+            }
+        }
+        for (Iterator<CandidateSkill> it = profile.getSkills().iterator(); it.hasNext(); ) {
+            CandidateSkill skill = it.next();
+            if (keys.contains(SkillIndex.normalize(skill.getSkillName()))) {
+                removed.add(skill.getSkillName());
+                it.remove();
+            }
+        }
+        return removed;
+    }
+
+    // added skills are stored in their vocabulary spelling (typos within the budget corrected), see SkillVocabulary
+    private List<String> addSkills(CandidateProfile profile, List<String> names) {
+        List<String> added = new ArrayList<>();
+        if (names == null || names.isEmpty()) {
+            return added;
+        }
+        Set<String> present = new HashSet<>();
+        for (CandidateSkill skill : profile.getSkills()) {
+            present.add(SkillIndex.normalize(skill.getSkillName()));
+        }
+        for (String name : names) {
+            String canonical = skillVocabulary.canonicalize(name);
+            String key = SkillIndex.normalize(canonical);
+            if (key != null && present.add(key)) {
+                CandidateSkill skill = new CandidateSkill(canonical);
+                skill.setCandidate(profile);
+                profile.getSkills().add(skill);
+                added.add(canonical);
+            }
+        }
+        return added;
+    }
+
+    /*
+     * The client sends children without ids or back references. Point them at the profile and reuse
+     * the existing rows' ids, so the merge updates education/preferences in place (candidate_id is unique
+     * there) and only inserts/deletes the skills that actually changed. Skill names go through the
+     * vocabulary first, so spellings / typos of one skill collapse into one row.
+     */
+    private void attachChildren(CandidateProfile profile, CandidateProfile existing) {
+        if (profile.getEducation() != null) {
+            profile.getEducation().setCandidate(profile);
+            if (existing.getEducation() != null) {
+                profile.getEducation().setEducationId(existing.getEducation().getEducationId());
+            }
+        }
+        if (profile.getPreferences() != null) {
+            profile.getPreferences().setCandidate(profile);
+            if (existing.getPreferences() != null) {
+                profile.getPreferences().setPreferenceId(existing.getPreferences().getPreferenceId());
+            }
+        }
+
+        Map<String, Long> existingSkillIds = new HashMap<>();
+        if (existing.getSkills() != null) {
+            for (CandidateSkill skill : existing.getSkills()) {
+                existingSkillIds.putIfAbsent(SkillIndex.normalize(skill.getSkillName()), skill.getSkillId());
+            }
+        }
+        Map<String, CandidateSkill> unique = new LinkedHashMap<>();
+        if (profile.getSkills() != null) {
+            for (CandidateSkill skill : profile.getSkills()) {
+                skill.setSkillName(skillVocabulary.canonicalize(skill.getSkillName()));
+                String key = SkillIndex.normalize(skill.getSkillName());
+                if (key != null && !unique.containsKey(key)) {
+                    skill.setCandidate(profile);
+                    skill.setSkillId(existingSkillIds.get(key));
+                    unique.put(key, skill);
+                }
+            }
+        }
+        profile.setSkills(new ArrayList<>(unique.values()));
+    }
+
+    private CandidateProfileChangedEvent toChangedEvent(Long candidateId, CandidateProfile profile, ProfileChanges changes) {
+        List<String> skills = profile.getSkills() == null ? List.of()
+                : profile.getSkills().stream().map(CandidateSkill::getSkillName).toList();
+        return new CandidateProfileChangedEvent(candidateId, skills, changes);
     }
 }
@@ -0,0 +1,43 @@
+package com.internlink.backend.service;
+
+import java.util.Arrays;
+
+// growable int[] so posting lists don't box every candidate slot into an Integer
+final class IntList {
+    int[] data;
+    int size;
+
+    IntList() {
+        this(8);
+    }
+
+    IntList(int initialCapacity) {
+        data = new int[Math.max(initialCapacity, 1)];
+    }
+
+    void add(int value) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, size * 2);
+        }
+        data[size++] = value;
+    }
+
+    // order is not preserved, the last element is moved into the hole
+    boolean removeValue(int value) {
+        for (int i = 0; i < size; i++) {
+            if (data[i] == value) {
+                data[i] = data[--size];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int pop() {
+        return data[--size];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+}
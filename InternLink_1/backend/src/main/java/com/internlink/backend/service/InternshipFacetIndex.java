@@ -0,0 +1,324 @@
+package com.internlink.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.internlink.backend.entity.Internship;
+
+/*
+ * In-memory faceted search over open internships: domain, location and required skills.
+ *
+ * Each internship gets a slot; every facet value (normalized like skills, trim + lowercase) has a BitSet of
+ * the slots carrying it. A search is a few BitSet ORs/ANDs, then the page is read straight off the result
+ * bits and the facet counts come from one pass over the matching slots, so no query touches the database.
+ * The list fields shown in results are kept here as a Summary, also no database.
+ *
+ * Filters: any of the given domains AND any of the given locations AND all of the given skills.
+ * Counts are "disjunctive" for domain and location (each ignores its own filter, so a multi-select UI can
+ * show what else is available) and plain for skills.
+ *
+ * Results are newest first: slots are handed out in insertion order and never reused, and rebuild() inserts
+ * in createdAt order. Removing just clears the slot; once more than half the slots are dead the index compacts.
+ * Writes take the write lock, searches the read lock.
+ */
+public class InternshipFacetIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Facet domains = new Facet();
+    private final Facet locations = new Facet();
+    private final Facet skills = new Facet();
+    private final BitSet live = new BitSet();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private Summary[] summaryBySlot = new Summary[1024];
+    private int[] domainBySlot = new int[1024];   // -1 = none
+    private int[] locationBySlot = new int[1024]; // -1 = none
+    private int[][] skillsBySlot = new int[1024][];
+    private int slotCount;
+
+    // what a search result row shows, enough for a listing without loading the entity
+    public record Summary(Long internshipId, String title, String domain, String location,
+                          Set<String> skills, LocalDateTime createdAt) {
+
+        public static Summary of(Internship internship) {
+            Set<String> skills = internship.getSkillWeights() == null ? Set.of() : Set.copyOf(internship.getSkillWeights().keySet());
+            return new Summary(internship.getInternshipId(), internship.getTitle(), internship.getDomain(),
+                    internship.getLocation(), skills, internship.getCreatedAt());
+        }
+    }
+
+    // empty collections mean "no filter on this facet"; page is 0-based
+    public record Query(Collection<String> domains, Collection<String> locations, Collection<String> skills,
+                        int page, int size, int facetLimit) {
+    }
+
+    public record FacetCount(String value, int count) {
+    }
+
+    public record Page(long total, int page, int size, List<Summary> items,
+                       List<FacetCount> domains, List<FacetCount> locations, List<FacetCount> skills) {
+    }
+
+    // replaces the whole index, internships should come oldest first
+    public void rebuild(Collection<Summary> internships) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            internships.forEach(this::insert);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // adds the internship as the newest entry, replacing whatever was indexed under its id
+    public void put(Summary summary) {
+        lock.writeLock().lock();
+        try {
+            unlink(summary.internshipId());
+            insert(summary);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long internshipId) {
+        lock.writeLock().lock();
+        try {
+            unlink(internshipId);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Page search(Query query) {
+        lock.readLock().lock();
+        try {
+            BitSet domainFilter = anyOf(domains, query.domains());
+            BitSet locationFilter = anyOf(locations, query.locations());
+            BitSet skillFilter = allOf(skills, query.skills());
+
+            BitSet result = intersect(domainFilter, locationFilter, skillFilter);
+
+            List<Summary> items = new ArrayList<>(query.size());
+            int skip = query.page() * query.size();
+            for (int slot = result.previousSetBit(slotCount - 1); slot >= 0 && items.size() < query.size();
+                 slot = result.previousSetBit(slot - 1)) {
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    items.add(summaryBySlot[slot]);
+                }
+            }
+
+            int[] domainCounts = new int[domains.size()];
+            int[] locationCounts = new int[locations.size()];
+            int[] skillCounts = new int[skills.size()];
+            BitSet forDomains = domainFilter == null ? result : intersect(null, locationFilter, skillFilter);
+            BitSet forLocations = locationFilter == null ? result : intersect(domainFilter, null, skillFilter);
+            for (int slot = forDomains.nextSetBit(0); slot >= 0; slot = forDomains.nextSetBit(slot + 1)) {
+                count(domainCounts, domainBySlot[slot]);
+            }
+            for (int slot = forLocations.nextSetBit(0); slot >= 0; slot = forLocations.nextSetBit(slot + 1)) {
+                count(locationCounts, locationBySlot[slot]);
+            }
+            for (int slot = result.nextSetBit(0); slot >= 0; slot = result.nextSetBit(slot + 1)) {
+                for (int skill : skillsBySlot[slot]) {
+                    skillCounts[skill]++;
+                }
+            }
+
+            return new Page(result.cardinality(), query.page(), query.size(), items,
+                    domains.top(domainCounts, query.facetLimit()),
+                    locations.top(locationCounts, query.facetLimit()),
+                    skills.top(skillCounts, query.facetLimit()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void count(int[] counts, int valueId) {
+        if (valueId >= 0) {
+            counts[valueId]++;
+        }
+    }
+
+    // live AND every non-null filter, always a fresh BitSet
+    private BitSet intersect(BitSet a, BitSet b, BitSet c) {
+        BitSet result = (BitSet) live.clone();
+        for (BitSet filter : new BitSet[] {a, b, c}) {
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+
+    // union of the values' postings, null when there is no filter; unknown values match nothing
+    private static BitSet anyOf(Facet facet, Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        BitSet union = new BitSet();
+        for (String value : values) {
+            BitSet posting = facet.posting(value);
+            if (posting != null) {
+                union.or(posting);
+            }
+        }
+        return union;
+    }
+
+    private static BitSet allOf(Facet facet, Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        BitSet intersection = null;
+        for (String value : values) {
+            BitSet posting = facet.posting(value);
+            if (posting == null) {
+                return new BitSet();
+            }
+            if (intersection == null) {
+                intersection = (BitSet) posting.clone();
+            } else {
+                intersection.and(posting);
+            }
+        }
+        return intersection;
+    }
+
+    private void insert(Summary summary) {
+        if (slotCount == summaryBySlot.length) {
+            int grown = slotCount * 2;
+            summaryBySlot = Arrays.copyOf(summaryBySlot, grown);
+            domainBySlot = Arrays.copyOf(domainBySlot, grown);
+            locationBySlot = Arrays.copyOf(locationBySlot, grown);
+            skillsBySlot = Arrays.copyOf(skillsBySlot, grown);
+        }
+        int slot = slotCount++;
+        summaryBySlot[slot] = summary;
+        domainBySlot[slot] = domains.add(summary.domain(), slot);
+        locationBySlot[slot] = locations.add(summary.location(), slot);
+        int[] skillIds = summary.skills().stream()
+                .mapToInt(skill -> skills.add(skill, slot))
+                .filter(id -> id >= 0)
+                .distinct()
+                .toArray();
+        skillsBySlot[slot] = skillIds;
+        live.set(slot);
+        slotById.put(summary.internshipId(), slot);
+    }
+
+    private void unlink(Long internshipId) {
+        Integer slot = slotById.remove(internshipId);
+        if (slot == null) {
+            return;
+        }
+        domains.clear(domainBySlot[slot], slot);
+        locations.clear(locationBySlot[slot], slot);
+        for (int skill : skillsBySlot[slot]) {
+            skills.clear(skill, slot);
+        }
+        live.clear(slot);
+        summaryBySlot[slot] = null;
+        skillsBySlot[slot] = null;
+    }
+
+    // dead slots cost a bit in every scan; rebuild without them once they are the majority
+    private void compactIfSparse() {
+        int dead = slotCount - slotById.size();
+        if (dead < 1024 || dead < slotById.size()) {
+            return;
+        }
+        List<Summary> kept = new ArrayList<>(slotById.size());
+        for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+            kept.add(summaryBySlot[slot]);
+        }
+        clear();
+        kept.forEach(this::insert);
+    }
+
+    private void clear() {
+        domains.reset();
+        locations.reset();
+        skills.reset();
+        live.clear();
+        slotById.clear();
+        Arrays.fill(summaryBySlot, 0, slotCount, null);
+        Arrays.fill(skillsBySlot, 0, slotCount, null);
+        slotCount = 0;
+    }
+
+    // value -> dense id -> posting BitSet; values that lose their last posting keep their id (and an empty set)
+    private static final class Facet {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+        private final List<BitSet> postings = new ArrayList<>();
+
+        int size() {
+            return names.size();
+        }
+
+        BitSet posting(String value) {
+            Integer id = ids.get(SkillIndex.normalize(value));
+            return id == null ? null : postings.get(id);
+        }
+
+        // returns the value id, -1 for a blank value
+        int add(String value, int slot) {
+            String normalized = SkillIndex.normalize(value);
+            if (normalized == null) {
+                return -1;
+            }
+            int id = ids.computeIfAbsent(normalized, v -> {
+                names.add(v);
+                postings.add(new BitSet());
+                return names.size() - 1;
+            });
+            postings.get(id).set(slot);
+            return id;
+        }
+
+        void clear(int id, int slot) {
+            if (id >= 0) {
+                postings.get(id).clear(slot);
+            }
+        }
+
+        void reset() {
+            ids.clear();
+            names.clear();
+            postings.clear();
+        }
+
+        // the limit most frequent values (ties by name), zero counts left out
+        List<FacetCount> top(int[] counts, int limit) {
+            List<FacetCount> result = new ArrayList<>();
+            for (int id = 0; id < counts.length; id++) {
+                if (counts[id] > 0) {
+                    result.add(new FacetCount(names.get(id), counts[id]));
+                }
+            }
+            result.sort((a, b) -> a.count() != b.count() ? Integer.compare(b.count(), a.count()) : a.value().compareTo(b.value()));
+            return result.size() > limit ? List.copyOf(result.subList(0, limit)) : result;
+        }
+    }
+}
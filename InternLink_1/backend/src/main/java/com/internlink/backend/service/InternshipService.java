@@ -0,0 +1,103 @@
+package com.internlink.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.internlink.backend.entity.Internship;
+import com.internlink.backend.entity.User;
+import com.internlink.backend.exception.NotFoundException;
+import com.internlink.backend.repository.InternshipRepository;
+import com.internlink.backend.repository.UserRepository;
+
+/*
+ * The internship catalogue: recruiters post and close internships, candidates search the open ones.
+ * Search is served entirely from InternshipFacetIndex, which is loaded at startup and updated right after
+ * each create/close, together with the MatchingEngine (a new posting gets its match_scores right away).
+ * Both indexes are per process, postings made on another node show up here at its next restart.
+ */
+@Service
+public class InternshipService {
+
+    public static final String OPEN = "OPEN";
+    public static final String CLOSED = "CLOSED";
+
+    private final InternshipRepository internshipRepository;
+    private final UserRepository userRepository;
+    private final MatchingEngine matchingEngine;
+    private final BatchMatchJob batchMatchJob;
+    private final InternshipFacetIndex index = new InternshipFacetIndex();
+
+    public InternshipService(InternshipRepository internshipRepository, UserRepository userRepository,
+                             MatchingEngine matchingEngine, BatchMatchJob batchMatchJob) {
+        this.internshipRepository = internshipRepository;
+        this.userRepository = userRepository;
+        this.matchingEngine = matchingEngine;
+        this.batchMatchJob = batchMatchJob;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        index.rebuild(internshipRepository.findByStatus(OPEN).stream()
+                .sorted(Comparator.comparing(Internship::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(Internship::getInternshipId))
+                .map(InternshipFacetIndex.Summary::of)
+                .toList());
+    }
+
+    public InternshipFacetIndex.Page search(InternshipFacetIndex.Query query) {
+        return index.search(query);
+    }
+
+    public Internship getInternship(Long internshipId) {
+        return internshipRepository.findById(internshipId)
+                .orElseThrow(() -> new NotFoundException("Internship not found"));
+    }
+
+    public Internship create(Internship draft, User recruiter) {
+        if (draft.getTitle() == null || draft.getTitle().isBlank()) {
+            throw new IllegalArgumentException("Title is required");
+        }
+        Internship internship = new Internship();
+        internship.setRecruiter(userRepository.getReferenceById(recruiter.getUserId()));
+        internship.setTitle(draft.getTitle().trim());
+        internship.setDescription(draft.getDescription());
+        internship.setDomain(draft.getDomain());
+        internship.setLocation(draft.getLocation());
+        internship.setSkillWeights(draft.getSkillWeights() == null ? new HashMap<>() : new HashMap<>(draft.getSkillWeights()));
+        internship.setStatus(OPEN);
+        internship.setCreatedAt(LocalDateTime.now());
+
+        Internship saved = internshipRepository.save(internship);
+        index.put(InternshipFacetIndex.Summary.of(saved));
+        batchMatchJob.rematchInternship(saved); // indexes it in the MatchingEngine and writes its top matches
+        return saved;
+    }
+
+    // the internship, if this recruiter posted it
+    public Internship getOwnedInternship(Long internshipId, User recruiter) {
+        Internship internship = getInternship(internshipId);
+        if (internship.getRecruiter() == null || !internship.getRecruiter().getUserId().equals(recruiter.getUserId())) {
+            throw new AccessDeniedException("This internship was posted by another recruiter");
+        }
+        return internship;
+    }
+
+    public Internship close(Long internshipId, User recruiter) {
+        Internship internship = getOwnedInternship(internshipId, recruiter);
+        if (!CLOSED.equals(internship.getStatus())) {
+            internship.setStatus(CLOSED);
+            internship = internshipRepository.save(internship);
+        }
+        index.remove(internshipId);
+        matchingEngine.removeInternship(internshipId);
+        return internship;
+    }
+}
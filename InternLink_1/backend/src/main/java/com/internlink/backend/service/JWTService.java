@@ -1,53 +1,180 @@
 package com.internlink.backend.service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.internlink.backend.entity.User;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
+/*
+ * Issues and verifies the bearer tokens.
+ * security.jwt.parse times every parseClaims call by outcome: cached (hit in verifiedClaims), verified (full
+ * HMAC check) or rejected; the cache itself reports as cache.* with cache=jwtVerifiedClaims.
+ */
 @Service
 public class JWTService {
 
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_VERSION = "ver";
+
     private static final long EXPIRATION_TIME = 86400000; // 1 day in ms
     private static final String SECRET = "my_super_secret_key_which_is_atleast_32_cars_long";
     private final Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
 
+    // JwtParser is immutable and thread safe, building one per call was most of the parse cost
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+
+    // SHA-256 of the token -> claims that already passed signature verification
+    // each entry expires together with its token, so a hit never needs the HMAC check again
+    private final Cache<String, Claims> verifiedClaims;
+
+    private final Timer cachedTimer;
+    private final Timer verifiedTimer;
+    private final Timer rejectedTimer;
+
+    public JWTService(@Value("${security.jwt.claims-cache.max-size:10000}") long maxCachedTokens,
+                      MeterRegistry meterRegistry) {
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(maxCachedTokens)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedClaims, "jwtVerifiedClaims");
+        this.cachedTimer = parseTimer("cached", meterRegistry);
+        this.verifiedTimer = parseTimer("verified", meterRegistry);
+        this.rejectedTimer = parseTimer("rejected", meterRegistry);
+    }
+
+    private static Timer parseTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder("security.jwt.parse").tag("outcome", outcome)
+                .publishPercentileHistogram().register(meterRegistry);
+    }
+
     public String generateToken(User user) {
         return Jwts.builder()
                 .setSubject(user.getEmail())
-                .claim("role", user.getRole())
+                .claim(CLAIM_ROLE, user.getRole())
+                .claim(CLAIM_USER_ID, user.getUserId())
+                .claim(CLAIM_VERSION, user.getTokenVersion() == null ? 0 : user.getTokenVersion())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
                 .signWith(key)
                 .compact();
     }
 
+    /*
+     * Verifies the token (or finds it already verified in the cache) and returns its claims.
+     * Throws the usual JwtException subclasses for bad signatures, malformed or expired tokens.
+     */
+    public Claims parseClaims(String token) {
+        Timer.Sample sample = Timer.start();
+        String cacheKey = hash(token);
+        Claims cached = verifiedClaims.getIfPresent(cacheKey);
+        if (cached != null) {
+            sample.stop(cachedTimer);
+            return cached;
+        }
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            sample.stop(rejectedTimer);
+            throw e;
+        }
+        verifiedClaims.put(cacheKey, claims);
+        sample.stop(verifiedTimer);
+        return claims;
+    }
+
     public String extractEmail(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parseClaims(token).getSubject();
     }
 
     public boolean validateToken(String token, User user) {
-        String email = extractEmail(token);
-        return email.equals(user.getEmail()) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        Date expiration = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration();
-        return expiration.before(new Date());
+        return validateToken(parseClaims(token), user);
+    }
+
+    // for callers that already hold the parsed claims (JwtAuthenticationFilter), so the token isn't parsed again
+    public boolean validateToken(Claims claims, User user) {
+        Number version = claims.get(CLAIM_VERSION, Number.class);
+        int current = user.getTokenVersion() == null ? 0 : user.getTokenVersion();
+        return claims.getSubject().equals(user.getEmail())
+                && !isTokenExpired(claims)
+                && (version == null || version.intValue() == current);
+    }
+
+    /*
+     * Principal for the stateless auth path, built from claims alone (no DB).
+     * Only userId, email, role and tokenVersion are filled in. Returns null for tokens issued before
+     * uid/ver were added, those still go through the UserRepository lookup.
+     */
+    public User principalFromClaims(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || role == null || isTokenExpired(claims)) {
+            return null;
+        }
+        Number version = claims.get(CLAIM_VERSION, Number.class);
+
+        User user = new User();
+        user.setUserId(userId.longValue());
+        user.setEmail(claims.getSubject());
+        user.setRole(role);
+        user.setTokenVersion(version == null ? 0 : version.intValue());
+        return user;
+    }
+
+    private boolean isTokenExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
+    }
+
+    // the cache is keyed by a digest so raw bearer tokens aren't kept around in memory
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e); // every JVM ships it
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            long ttlMs = expiration == null ? EXPIRATION_TIME : expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(ttlMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
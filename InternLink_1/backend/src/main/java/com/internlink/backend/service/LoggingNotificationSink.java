@@ -0,0 +1,33 @@
+package com.internlink.backend.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.internlink.backend.service.NotificationBus.MatchNotification;
+import com.internlink.backend.service.NotificationBus.Recipient;
+
+// stand-in until a real channel exists: one log line per batch (enable DEBUG on this class to see the entries)
+@Component
+public class LoggingNotificationSink implements NotificationSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingNotificationSink.class);
+
+    @Override
+    public String name() {
+        return "log";
+    }
+
+    @Override
+    public void deliver(Recipient recipient, List<MatchNotification> notifications) {
+        log.info("{} new match(es) for {} {}", notifications.size(), recipient.type(), recipient.id());
+        if (log.isDebugEnabled()) {
+            for (MatchNotification n : notifications) {
+                log.debug("  candidate {} / internship {}: score {}, rank {}",
+                        n.candidateId(), n.internshipId(), n.score(), n.rank() + 1);
+            }
+        }
+    }
+}
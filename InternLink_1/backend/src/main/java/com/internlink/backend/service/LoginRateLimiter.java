@@ -0,0 +1,77 @@
+package com.internlink.backend.service;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.internlink.backend.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Token buckets in front of login, checked before the user lookup and the bcrypt verification.
+ *
+ * Two buckets per attempt: one per client IP (a single source hammering many accounts) and one per email
+ * (many sources guessing one account's password). Either running dry is a 429 with Retry-After, costing a
+ * map lookup instead of a query and a hash. The IP bucket is taken first, so a source that is already
+ * limited can't drain a victim's email bucket and lock them out.
+ *
+ * Every attempt counts, successful or not. State lives in the RateLimitStore bean (per node by default).
+ * security.login.rate-limited counts rejections by which bucket ran out.
+ */
+@Service
+public class LoginRateLimiter {
+
+    private final RateLimitStore store;
+    private final boolean enabled;
+    private final int ipCapacity;
+    private final long ipNanosPerToken;
+    private final int emailCapacity;
+    private final long emailNanosPerToken;
+    private final Counter ipRejections;
+    private final Counter emailRejections;
+
+    public LoginRateLimiter(RateLimitStore store, MeterRegistry meterRegistry,
+                            @Value("${security.login-limit.enabled:true}") boolean enabled,
+                            @Value("${security.login-limit.ip.capacity:30}") int ipCapacity,
+                            @Value("${security.login-limit.ip.refill-seconds:2}") long ipRefillSeconds,
+                            @Value("${security.login-limit.email.capacity:5}") int emailCapacity,
+                            @Value("${security.login-limit.email.refill-seconds:60}") long emailRefillSeconds) {
+        this.store = store;
+        this.enabled = enabled;
+        this.ipCapacity = ipCapacity;
+        this.ipNanosPerToken = TimeUnit.SECONDS.toNanos(ipRefillSeconds);
+        this.emailCapacity = emailCapacity;
+        this.emailNanosPerToken = TimeUnit.SECONDS.toNanos(emailRefillSeconds);
+        this.ipRejections = meterRegistry.counter("security.login.rate-limited", "bucket", "ip");
+        this.emailRejections = meterRegistry.counter("security.login.rate-limited", "bucket", "email");
+    }
+
+    // throws TooManyRequestsException if this IP or this email has used up its attempts
+    public void checkLogin(String clientIp, String email) {
+        if (!enabled) {
+            return;
+        }
+        long wait = store.tryConsume("login:ip:" + clientIp, ipCapacity, ipNanosPerToken);
+        if (wait > 0) {
+            ipRejections.increment();
+            throw rejected(wait);
+        }
+        if (email == null || email.isBlank()) {
+            return; // nothing to key on, the IP bucket is all there is
+        }
+        wait = store.tryConsume("login:email:" + email.trim().toLowerCase(Locale.ROOT), emailCapacity, emailNanosPerToken);
+        if (wait > 0) {
+            emailRejections.increment();
+            throw rejected(wait);
+        }
+    }
+
+    private static TooManyRequestsException rejected(long waitNanos) {
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        return new TooManyRequestsException("Too many login attempts, please retry later", seconds);
+    }
+}
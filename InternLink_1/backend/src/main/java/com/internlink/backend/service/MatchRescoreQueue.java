@@ -0,0 +1,236 @@
+package com.internlink.backend.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.internlink.backend.event.CandidateProfileChangedEvent;
+import com.internlink.backend.event.MatchesFoundEvent;
+import com.internlink.backend.repository.MatchScoreWriter;
+import com.internlink.backend.service.MatchingEngine.CandidateRescore;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Turns profile saves into match_scores deltas without rescoring the whole candidate x internship grid.
+ *
+ * Saves are coalesced per candidate: only the latest snapshot is kept, and it is processed once the
+ * candidate has been quiet for quietPeriodMs (or maxDelayMs after the first save, so a candidate who
+ * keeps editing still gets rescored). Ten saves in a minute = one recompute.
+ * A snapshot whose skills equal what is already indexed is dropped: skills are the only scoring input, so
+ * a save that changed only education or preferences doesn't touch match_scores.
+ * Once a batch is written, the candidates that moved into an internship's top list go out as a MatchesFoundEvent.
+ * A batch whose write fails is kept and written first by the next flush, so the index and match_scores don't drift.
+ * At most maxUnwritten of them, retried at most maxRetries times in a row: past either (the database has been away
+ * a while) they are all dropped, counted in matching.rescore.dropped (candidates), and rematchNeeded() stays true
+ * until a full rematch has rewritten match_scores from the index (BatchMatchJob.catchUp).
+ * Flushes are held off while BatchMatchJob runs (pausedDuring), the two would otherwise overwrite each other's rows.
+ */
+@Component
+public class MatchRescoreQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchRescoreQueue.class);
+
+    private final MatchingEngine matchingEngine;
+    private final MatchScoreWriter matchScoreWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long quietPeriodMs;
+    private final long maxDelayMs;
+    private final int batchSize;
+    private final int maxUnwritten;
+    private final int maxRetries;
+    private final Counter dropped;
+
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    // rescored batches whose write failed: the index already has them, so they are retried as they are (upserts
+    // and deletes, safe to repeat) before anything newer is written; only touched under writeLock
+    private final Deque<List<CandidateRescore>> unwritten = new ArrayDeque<>();
+    private int failedRetries; // in a row, of the oldest unwritten batch
+
+    // held by a flush while it rescores and writes, and by BatchMatchJob for a whole rematch
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // set once failed batches had to be dropped, failed writes after that aren't kept either
+    private final AtomicBoolean rematchNeeded = new AtomicBoolean();
+
+    public MatchRescoreQueue(MatchingEngine matchingEngine,
+                             MatchScoreWriter matchScoreWriter,
+                             ApplicationEventPublisher eventPublisher,
+                             MeterRegistry meterRegistry,
+                             @Value("${matching.rescore.quiet-period-ms:15000}") long quietPeriodMs,
+                             @Value("${matching.rescore.max-delay-ms:60000}") long maxDelayMs,
+                             @Value("${matching.rescore.batch-size:500}") int batchSize,
+                             @Value("${matching.rescore.max-unwritten:20}") int maxUnwritten,
+                             @Value("${matching.rescore.max-retries:60}") int maxRetries) {
+        this.matchingEngine = matchingEngine;
+        this.matchScoreWriter = matchScoreWriter;
+        this.eventPublisher = eventPublisher;
+        this.quietPeriodMs = quietPeriodMs;
+        this.maxDelayMs = maxDelayMs;
+        this.batchSize = batchSize;
+        this.maxUnwritten = maxUnwritten;
+        this.maxRetries = maxRetries;
+        this.dropped = meterRegistry.counter("matching.rescore.dropped");
+    }
+
+    // after commit: a save that rolled back never happened, nothing to rescore
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProfileChanged(CandidateProfileChangedEvent event) {
+        if (!event.skillsMayHaveChanged()) {
+            return; // a PATCH of other fields: scores only depend on skills, and a pending snapshot stays valid
+        }
+        long now = System.currentTimeMillis();
+        pending.merge(event.getCandidateId(), new Pending(event, now, now),
+                (old, latest) -> new Pending(latest.event(), old.firstSeen(), now));
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    public boolean rematchNeeded() {
+        return rematchNeeded.get();
+    }
+
+    @Scheduled(fixedDelayString = "${matching.rescore.flush-interval-ms:5000}")
+    public void flush() {
+        try {
+            flush(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.error("Match rescore flush failed", e);
+        }
+    }
+
+    /*
+     * Runs a bulk rematch with no flush in between: the rematch scores an index snapshot and replaces whole
+     * internships in match_scores, so a delta written meanwhile would be deleted and put back with the snapshot's
+     * older score. Waits for a flush in progress first. Saves arriving during the run stay in pending and are
+     * rescored on top of the rematch's rows once it's done.
+     * A rematch that completes has written what the unwritten (or dropped) batches held, it scored the same index.
+     */
+    public void pausedDuring(Runnable rematch) {
+        writeLock.lock();
+        try {
+            rematch.run();
+            unwritten.clear();
+            failedRetries = 0;
+            rematchNeeded.set(false);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // returns how many candidates were actually rescored, 0 while a rematch runs; a failed write throws and is
+    // retried by the next flush
+    int flush(long now) {
+        if (!writeLock.tryLock()) {
+            return 0;
+        }
+        try {
+            return flushPending(now);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private int flushPending(long now) {
+        int rescored = 0;
+        for (List<CandidateRescore> retry; (retry = unwritten.peekFirst()) != null; ) {
+            try {
+                rescored += write(retry);
+            } catch (RuntimeException e) {
+                if (++failedRetries >= maxRetries) {
+                    drop(List.of());
+                }
+                throw e;
+            }
+            failedRetries = 0;
+            unwritten.pollFirst();
+        }
+
+        List<CandidateRescore> batch = new ArrayList<>();
+        for (Map.Entry<Long, Pending> entry : pending.entrySet()) {
+            Pending p = entry.getValue();
+            boolean quiet = now - p.lastSeen() >= quietPeriodMs;
+            boolean overdue = now - p.firstSeen() >= maxDelayMs;
+            // remove(key, value) fails if a newer save arrived meanwhile, that one waits for the next flush
+            if ((!quiet && !overdue) || !pending.remove(entry.getKey(), p)) {
+                continue;
+            }
+
+            CandidateProfileChangedEvent event = p.event();
+            if (!matchingEngine.skillsChanged(event.getCandidateId(), event.getSkills())) {
+                continue;
+            }
+            batch.add(matchingEngine.rescoreCandidate(event.getCandidateId(), event.getSkills()));
+            if (batch.size() >= batchSize) {
+                rescored += writeOrKeep(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            rescored += writeOrKeep(batch);
+        }
+        return rescored;
+    }
+
+    private int writeOrKeep(List<CandidateRescore> batch) {
+        try {
+            return write(batch);
+        } catch (RuntimeException e) {
+            keep(batch);
+            throw e;
+        }
+    }
+
+    private void keep(List<CandidateRescore> batch) {
+        if (!rematchNeeded.get() && unwritten.size() < maxUnwritten) {
+            unwritten.addLast(batch);
+        } else {
+            drop(batch);
+        }
+    }
+
+    // gives up on the batch and everything kept, only a full rematch writes them now
+    private void drop(List<CandidateRescore> batch) {
+        int lost = batch.size();
+        for (List<CandidateRescore> kept : unwritten) {
+            lost += kept.size();
+        }
+        unwritten.clear();
+        failedRetries = 0;
+        dropped.increment(lost);
+        if (!rematchNeeded.getAndSet(true)) {
+            log.warn("Match score writes keep failing, dropped {} rescored candidates until a full rematch", lost);
+        }
+    }
+
+    private int write(List<CandidateRescore> batch) {
+        matchScoreWriter.applyCandidateDeltas(batch);
+        List<MatchingEngine.TopMatch> enteredTop = new ArrayList<>();
+        batch.forEach(rescore -> enteredTop.addAll(rescore.enteredTop()));
+        if (!enteredTop.isEmpty()) {
+            eventPublisher.publishEvent(new MatchesFoundEvent(enteredTop));
+        }
+        return batch.size();
+    }
+
+    private record Pending(CandidateProfileChangedEvent event, long firstSeen, long lastSeen) {
+    }
+}
@@ -1,5 +1,458 @@
 package com.internlink.backend.service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.internlink.backend.entity.Internship;
+import com.internlink.backend.entity.MatchScore;
+import com.internlink.backend.repository.CandidateSkillRepository;
+import com.internlink.backend.repository.InternshipRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/*
+ * Scores candidates against internships from an in-memory SkillIndex instead of joining candidate_skills per request.
+ * The index is loaded once at startup from CandidateSkill rows and kept up to date through indexCandidate/removeCandidate.
+ * Open internships are kept compiled too, with a skill -> internship lookup so a profile change
+ * only rescores the internships that share a skill with the old or new profile.
+ * Skill names are interned once in a SkillDictionary; candidates and internships carry SkillBitSets,
+ * so per-candidate scoring is bit operations with no allocation.
+ * score = sum of the internship's weights for skills the candidate has / sum of all its weights (0..1)
+ *
+ * Each indexed internship also keeps a TopKLeaderboard of its best candidates, fed by every rescore and by the
+ * bulk rematch, so "best candidates for this internship" is a copy of the first k entries, not a scan.
+ *
+ * Metrics: matching.top-matches, matching.rescore, matching.rematch and matching.leaderboard (source=board when
+ * served as is, rescan when it had to be refilled) timers; matching.indexed gauges for candidates and internships.
+ */
+@Service
 public class MatchingEngine {
-    
+
+    public static final int DEFAULT_TOP_K = 50;
+
+    // entries kept per leaderboard; the room above DEFAULT_TOP_K absorbs candidates dropping out between refills
+    public static final int LEADERBOARD_CAPACITY = 2 * DEFAULT_TOP_K;
+
+    private final CandidateSkillRepository candidateSkillRepository;
+    private final InternshipRepository internshipRepository;
+
+    // outlives index rebuilds so skill ids (and the bitsets built from them) stay valid
+    private final SkillDictionary dictionary = new SkillDictionary();
+
+    // swapped wholesale on rebuild so queries never see a half-built index
+    private volatile SkillIndex index = new SkillIndex(dictionary);
+
+    private final Map<Long, CompiledInternship> internships = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Long>> internshipsBySkill = new ConcurrentHashMap<>();
+
+    private final Timer topMatchesTimer;
+    private final Timer rescoreTimer;
+    private final Timer rematchTimer;
+    private final Timer leaderboardHitTimer;
+    private final Timer leaderboardRescanTimer;
+
+    public MatchingEngine(CandidateSkillRepository candidateSkillRepository, InternshipRepository internshipRepository,
+                          MeterRegistry meterRegistry) {
+        this.candidateSkillRepository = candidateSkillRepository;
+        this.internshipRepository = internshipRepository;
+        this.topMatchesTimer = timer("matching.top-matches", meterRegistry);
+        this.rescoreTimer = timer("matching.rescore", meterRegistry);
+        this.rematchTimer = timer("matching.rematch", meterRegistry);
+        this.leaderboardHitTimer = Timer.builder("matching.leaderboard").tag("source", "board")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.leaderboardRescanTimer = Timer.builder("matching.leaderboard").tag("source", "rescan")
+                .publishPercentileHistogram().register(meterRegistry);
+        Gauge.builder("matching.indexed", this, MatchingEngine::indexedCandidates).tag("kind", "candidates").register(meterRegistry);
+        Gauge.builder("matching.indexed", this, MatchingEngine::indexedInternships).tag("kind", "internships").register(meterRegistry);
+    }
+
+    private static Timer timer(String name, MeterRegistry meterRegistry) {
+        return Timer.builder(name).publishPercentileHistogram().register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        Map<Long, List<String>> skillsByCandidate = new HashMap<>();
+        try (Stream<CandidateSkillRepository.SkillRow> rows = candidateSkillRepository.streamAllSkillRows()) {
+            rows.forEach(row -> skillsByCandidate
+                    .computeIfAbsent(row.getCandidateId(), id -> new ArrayList<>())
+                    .add(row.getSkillName()));
+        }
+
+        SkillIndex fresh = new SkillIndex(dictionary);
+        skillsByCandidate.forEach(fresh::put);
+        index = fresh;
+
+        internshipRepository.findByStatus("OPEN").forEach(this::indexInternship);
+    }
+
+    public void indexCandidate(long candidateId, Collection<String> skills) {
+        rescoreCandidate(candidateId, skills);
+    }
+
+    public void removeCandidate(long candidateId) {
+        long[] before = index.bitsOf(candidateId);
+        index.remove(candidateId);
+        for (Long internshipId : internshipsSharingSkills(before, new long[0])) {
+            CompiledInternship compiled = internships.get(internshipId);
+            if (compiled != null) {
+                compiled.leaderboard.update(candidateId, 0);
+            }
+        }
+    }
+
+    public int indexedCandidates() {
+        return index.size();
+    }
+
+    // registers (or re-registers) an open internship so profile changes can be rescored against it
+    public void indexInternship(Internship internship) {
+        removeInternship(internship.getInternshipId());
+        CompiledInternship compiled = CompiledInternship.of(internship, dictionary);
+        if (compiled == null) {
+            return;
+        }
+        internships.put(internship.getInternshipId(), compiled);
+        for (int skillId : compiled.skillIds) {
+            internshipsBySkill.computeIfAbsent(skillId, s -> ConcurrentHashMap.newKeySet()).add(internship.getInternshipId());
+        }
+    }
+
+    public void removeInternship(Long internshipId) {
+        CompiledInternship old = internships.remove(internshipId);
+        if (old == null) {
+            return;
+        }
+        for (int skillId : old.skillIds) {
+            Set<Long> ids = internshipsBySkill.get(skillId);
+            if (ids != null) {
+                ids.remove(internshipId);
+            }
+        }
+    }
+
+    public List<MatchScore> topMatches(Internship internship) {
+        return topMatches(internship, DEFAULT_TOP_K);
+    }
+
+    // best k candidates for the internship, highest score first
+    public List<MatchScore> topMatches(Internship internship, int k) {
+        return topMatchesTimer.record(() -> score(internship, k));
+    }
+
+    private List<MatchScore> score(Internship internship, int k) {
+        CompiledInternship compiled = CompiledInternship.of(internship, dictionary);
+        if (compiled == null || k <= 0) {
+            return List.of();
+        }
+
+        TopKHeap heap = new TopKHeap(k);
+        index.score(compiled.skillIds, compiled.weights, compiled.totalWeight, heap);
+
+        long[] ids = new long[heap.size()];
+        double[] scores = new double[heap.size()];
+        int n = heap.drainDescending(ids, scores);
+        List<MatchScore> results = new ArrayList<>(n);
+        for (int j = 0; j < n; j++) {
+            results.add(new MatchScore(ids[j], internship.getInternshipId(), scores[j]));
+        }
+        return results;
+    }
+
+    /*
+     * Best k candidates for an indexed (open) internship, straight off its leaderboard; empty if it isn't indexed.
+     * A leaderboard that has lost too many entries to serve k is refilled with a full scoring pass and swapped
+     * in, unless a rescore landed meanwhile, in which case we look again (a few times, then just return what
+     * was computed). k above LEADERBOARD_CAPACITY always scores from scratch.
+     */
+    public List<MatchScore> leaderboard(Long internshipId, int k) {
+        CompiledInternship compiled = internships.get(internshipId);
+        if (compiled == null || k <= 0) {
+            return List.of();
+        }
+        Timer.Sample sample = Timer.start();
+        TopKLeaderboard leaderboard = compiled.leaderboard;
+        boolean fits = k <= leaderboard.capacity();
+        int capacity = fits ? leaderboard.capacity() : k;
+        long[] ids = new long[capacity];
+        double[] scores = new double[capacity];
+        for (int attempt = 0; ; attempt++) {
+            TopKLeaderboard.Board board = leaderboard.snapshot();
+            if (leaderboard.canServe(board, k)) {
+                List<MatchScore> results = toScores(internshipId, board.ids(), board.scores(), Math.min(k, board.size()));
+                sample.stop(attempt == 0 ? leaderboardHitTimer : leaderboardRescanTimer);
+                return results;
+            }
+            TopKHeap heap = new TopKHeap(capacity);
+            index.score(compiled.skillIds, compiled.weights, compiled.totalWeight, heap);
+            int n = heap.drainDescending(ids, scores);
+            if (!fits || leaderboard.replace(board, ids, scores, n) || attempt == 2) {
+                List<MatchScore> results = toScores(internshipId, ids, scores, Math.min(k, n));
+                sample.stop(leaderboardRescanTimer);
+                return results;
+            }
+        }
+    }
+
+    private static List<MatchScore> toScores(Long internshipId, long[] ids, double[] scores, int n) {
+        List<MatchScore> results = new ArrayList<>(n);
+        for (int j = 0; j < n; j++) {
+            results.add(new MatchScore(ids[j], internshipId, scores[j]));
+        }
+        return results;
+    }
+
+    /*
+     * Re-indexes one candidate and scores them against only the internships that require a skill
+     * they had before or have now. Internships outside that set can't have changed score.
+     */
+    public CandidateRescore rescoreCandidate(long candidateId, Collection<String> skills) {
+        return rescoreTimer.record(() -> rescore(candidateId, skills));
+    }
+
+    private CandidateRescore rescore(long candidateId, Collection<String> skills) {
+        long[] before = index.bitsOf(candidateId);
+        long[] after = SkillBitSet.of(skills, dictionary);
+        Set<Long> affected = internshipsSharingSkills(before, after);
+
+        // boards that can't show their top DEFAULT_TOP_K are refilled while the index still has the old profile,
+        // otherwise a candidate entering the top would already be on the refilled board and go unnoticed
+        for (Long internshipId : affected) {
+            CompiledInternship compiled = internships.get(internshipId);
+            if (compiled != null && !compiled.leaderboard.canServe(compiled.leaderboard.snapshot(), DEFAULT_TOP_K)) {
+                leaderboard(internshipId, DEFAULT_TOP_K);
+            }
+        }
+        index.put(candidateId, after);
+
+        List<MatchScore> scores = new ArrayList<>();
+        List<TopMatch> enteredTop = new ArrayList<>();
+        for (Long internshipId : affected) {
+            CompiledInternship compiled = internships.get(internshipId);
+            if (compiled == null) {
+                continue;
+            }
+            double matched = SkillBitSet.weightedOverlap(after, compiled.bits, compiled.weights);
+            double score = matched / compiled.totalWeight;
+            int rankBefore = compiled.leaderboard.snapshot().indexOf(candidateId);
+            compiled.leaderboard.update(candidateId, score); // 0 takes them off the board
+            int rankAfter = compiled.leaderboard.snapshot().indexOf(candidateId);
+            if (rankAfter >= 0 && rankAfter < DEFAULT_TOP_K && (rankBefore < 0 || rankBefore >= DEFAULT_TOP_K)) {
+                enteredTop.add(new TopMatch(candidateId, internshipId, compiled.recruiterId, score, rankAfter));
+            }
+            if (matched > 0) {
+                scores.add(new MatchScore(candidateId, internshipId, score));
+            }
+        }
+        return new CandidateRescore(candidateId, affected, scores, enteredTop);
+    }
+
+    // internships requiring any skill in either bitset
+    private Set<Long> internshipsSharingSkills(long[] before, long[] after) {
+        Set<Long> affected = new HashSet<>();
+        SkillBitSet.forEachInUnion(before, after, skillId -> {
+            Set<Long> ids = internshipsBySkill.get(skillId);
+            if (ids != null) {
+                affected.addAll(ids);
+            }
+        });
+        return affected;
+    }
+
+    // true if the normalized skills differ from what is indexed for the candidate
+    public boolean skillsChanged(long candidateId, Collection<String> skills) {
+        return !Arrays.equals(SkillBitSet.of(skills, dictionary), index.bitsOf(candidateId));
+    }
+
+    /*
+     * Bulk "rematch everything": best k candidates for every open internship.
+     * The candidate population is split into shards of shardSize that are scored in parallel on the pool,
+     * each shard keeping its own top-k heap per internship; heaps are merged pairwise as the fork-join
+     * tree unwinds. progress is bumped by the number of candidates as each shard finishes.
+     * With k >= LEADERBOARD_CAPACITY the results also refill the leaderboards, except those a rescore
+     * touched after the index snapshot was taken (theirs is newer than ours).
+     */
+    public Map<Long, List<MatchScore>> rematchAll(int k, int shardSize, ForkJoinPool pool, LongAdder progress) {
+        return rematchTimer.record(() -> rematch(k, shardSize, pool, progress));
+    }
+
+    private Map<Long, List<MatchScore>> rematch(int k, int shardSize, ForkJoinPool pool, LongAdder progress) {
+        List<Map.Entry<Long, CompiledInternship>> open = new ArrayList<>(internships.entrySet());
+        CompiledInternship[] compiled = new CompiledInternship[open.size()];
+        TopKLeaderboard.Board[] boards = new TopKLeaderboard.Board[open.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            compiled[i] = open.get(i).getValue();
+            boards[i] = compiled[i].leaderboard.snapshot();
+        }
+        // taken after the boards, so any rescore missing from it has already changed its board
+        SkillIndex.Snapshot snapshot = index.snapshot();
+        if (open.isEmpty() || snapshot.size() == 0) {
+            return Map.of();
+        }
+
+        TopKHeap[] heaps = pool.invoke(new ShardTask(snapshot, compiled, k, shardSize, 0, snapshot.size(), progress));
+
+        Map<Long, List<MatchScore>> results = new HashMap<>();
+        long[] ids = new long[k];
+        double[] scores = new double[k];
+        for (int i = 0; i < compiled.length; i++) {
+            Long internshipId = open.get(i).getKey();
+            int n = heaps[i] == null ? 0 : heaps[i].drainDescending(ids, scores);
+            if (k >= compiled[i].leaderboard.capacity()) {
+                compiled[i].leaderboard.replace(boards[i], ids, scores, n);
+            }
+            results.put(internshipId, n == 0 ? new ArrayList<>() : toScores(internshipId, ids, scores, n));
+        }
+        return results;
+    }
+
+    public int indexedInternships() {
+        return internships.size();
+    }
+
+    /*
+     * The delta for one candidate: new scores for affectedInternshipIds, anything affected but not scored no longer matches.
+     * enteredTop = internships where the candidate just moved into the first DEFAULT_TOP_K of the leaderboard.
+     */
+    public record CandidateRescore(Long candidateId, Set<Long> affectedInternshipIds, List<MatchScore> scores,
+                                   List<TopMatch> enteredTop) {
+    }
+
+    // a candidate ranked among an internship's best; rank is 0-based, recruiterId null if unknown
+    public record TopMatch(Long candidateId, Long internshipId, Long recruiterId, double score, int rank) {
+    }
+
+    // scores candidates [from, to) of the snapshot against every internship, splitting until the range fits a shard
+    private static final class ShardTask extends RecursiveTask<TopKHeap[]> {
+        private final SkillIndex.Snapshot snapshot;
+        private final CompiledInternship[] internships;
+        private final int k;
+        private final int shardSize;
+        private final int from;
+        private final int to;
+        private final LongAdder progress;
+
+        ShardTask(SkillIndex.Snapshot snapshot, CompiledInternship[] internships, int k, int shardSize,
+                  int from, int to, LongAdder progress) {
+            this.snapshot = snapshot;
+            this.internships = internships;
+            this.k = k;
+            this.shardSize = shardSize;
+            this.from = from;
+            this.to = to;
+            this.progress = progress;
+        }
+
+        @Override
+        protected TopKHeap[] compute() {
+            if (to - from <= shardSize) {
+                return scoreShard();
+            }
+            int mid = (from + to) >>> 1;
+            ShardTask left = new ShardTask(snapshot, internships, k, shardSize, from, mid, progress);
+            ShardTask right = new ShardTask(snapshot, internships, k, shardSize, mid, to, progress);
+            left.fork();
+            TopKHeap[] merged = right.compute();
+            TopKHeap[] other = left.join();
+            for (int i = 0; i < merged.length; i++) {
+                if (merged[i] == null) {
+                    merged[i] = other[i];
+                } else if (other[i] != null) {
+                    merged[i].addAll(other[i]);
+                }
+            }
+            return merged;
+        }
+
+        private TopKHeap[] scoreShard() {
+            TopKHeap[] heaps = new TopKHeap[internships.length]; // allocated on first hit, most shards miss most internships
+            long[] candidateIds = snapshot.candidateIds();
+            long[][] bits = snapshot.bits();
+            for (int c = from; c < to; c++) {
+                long[] candidate = bits[c];
+                for (int i = 0; i < internships.length; i++) {
+                    CompiledInternship internship = internships[i];
+                    double matched = SkillBitSet.weightedOverlap(candidate, internship.bits, internship.weights);
+                    if (matched == 0) {
+                        continue;
+                    }
+                    if (heaps[i] == null) {
+                        heaps[i] = new TopKHeap(k);
+                    }
+                    heaps[i].offer(candidateIds[c], matched / internship.totalWeight);
+                }
+            }
+            progress.add(to - from);
+            return heaps;
+        }
+    }
+
+    // internship skill weights resolved to dictionary ids and flattened to arrays once instead of per query
+    private static final class CompiledInternship {
+        final int[] skillIds;    // ascending
+        final double[] weights;  // weights[i] belongs to skillIds[i], which makes it SkillBitSet's weightsByRank
+        final double totalWeight;
+        final long[] bits;
+        final Long recruiterId;
+        final TopKLeaderboard leaderboard = new TopKLeaderboard(LEADERBOARD_CAPACITY); // filled on first read
+
+        private CompiledInternship(int[] skillIds, double[] weights, double totalWeight, Long recruiterId) {
+            this.skillIds = skillIds;
+            this.weights = weights;
+            this.totalWeight = totalWeight;
+            this.recruiterId = recruiterId;
+            this.bits = new long[(skillIds[skillIds.length - 1] >>> 6) + 1];
+            for (int id : skillIds) {
+                bits[id >>> 6] |= 1L << id;
+            }
+        }
+
+        static CompiledInternship of(Internship internship, SkillDictionary dictionary) {
+            Map<Integer, Double> merged = new TreeMap<>();
+            if (internship.getSkillWeights() != null) {
+                internship.getSkillWeights().forEach((skill, weight) -> {
+                    int id = dictionary.intern(skill);
+                    if (id >= 0 && weight != null && weight > 0) {
+                        merged.merge(id, weight, Double::sum);
+                    }
+                });
+            }
+            if (merged.isEmpty()) {
+                return null;
+            }
+
+            int[] skillIds = new int[merged.size()];
+            double[] weights = new double[merged.size()];
+            double total = 0;
+            int i = 0;
+            for (Map.Entry<Integer, Double> entry : merged.entrySet()) {
+                skillIds[i] = entry.getKey();
+                weights[i] = entry.getValue();
+                total += weights[i];
+                i++;
+            }
+            Long recruiterId = internship.getRecruiter() == null ? null : internship.getRecruiter().getUserId();
+            return new CompiledInternship(skillIds, weights, total, recruiterId);
+        }
+    }
 }
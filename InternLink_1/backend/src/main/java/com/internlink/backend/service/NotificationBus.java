@@ -0,0 +1,249 @@
+package com.internlink.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.internlink.backend.event.MatchesFoundEvent;
+import com.internlink.backend.service.MatchingEngine.TopMatch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * "You have new matches" fan-out, off the request and scoring threads.
+ *
+ * Every new top match becomes one notification for the candidate and one for the internship's recruiter.
+ * publish() only appends to the recipient's pending batch (latest per candidate/internship pair wins), so the
+ * producer never waits. A scheduled drain hands batches that are lingerMs old, or maxBatch long, to a small
+ * fixed pool with a bounded queue; each batch goes to every NotificationSink in one call. A recruiter whose
+ * internship gains 30 candidates in a minute gets one delivery, not 30.
+ *
+ * Backpressure: when the delivery queue is full the drain puts the batch back and stops until the next tick,
+ * so work piles up in the pending map, which holds at most maxPending notifications. Past that publish()
+ * drops and counts (notifications.dropped) instead of growing the heap or slowing the producer down.
+ *
+ * Metrics: notifications.published / dropped, notifications.delivered and failed by sink, notifications.lag
+ * (publish to delivered), notifications.batch.size, notifications.pending.
+ */
+@Service
+public class NotificationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationBus.class);
+
+    public enum RecipientType { CANDIDATE, RECRUITER }
+
+    // id is a candidateId for CANDIDATE, the recruiter's userId for RECRUITER
+    public record Recipient(RecipientType type, Long id) {
+    }
+
+    public record MatchNotification(Recipient recipient, Long candidateId, Long internshipId, double score, int rank,
+                                    long publishedAt) {
+    }
+
+    private final List<NotificationSink> sinks;
+    private final long lingerMs;
+    private final int maxBatch;
+    private final int maxPending;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<Recipient, Batch> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger(); // in the map + queued/running in the executor
+
+    private final MeterRegistry meterRegistry;
+    private final Counter published;
+    private final Counter dropped;
+    private final Timer lag;
+    private final DistributionSummary batchSize;
+
+    public NotificationBus(List<NotificationSink> sinks, MeterRegistry meterRegistry,
+                           @Value("${notifications.linger-ms:10000}") long lingerMs,
+                           @Value("${notifications.max-batch:50}") int maxBatch,
+                           @Value("${notifications.max-pending:50000}") int maxPending,
+                           @Value("${notifications.threads:2}") int threads,
+                           @Value("${notifications.queue-capacity:100}") int queueCapacity) {
+        this.sinks = List.copyOf(sinks);
+        this.lingerMs = lingerMs;
+        this.maxBatch = maxBatch;
+        this.maxPending = maxPending;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "notify-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.meterRegistry = meterRegistry;
+        this.published = meterRegistry.counter("notifications.published");
+        this.dropped = meterRegistry.counter("notifications.dropped");
+        this.lag = Timer.builder("notifications.lag").publishPercentileHistogram().register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("notifications.batch.size").register(meterRegistry);
+        Gauge.builder("notifications.pending", pendingCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @EventListener
+    public void onMatchesFound(MatchesFoundEvent event) {
+        long now = System.currentTimeMillis();
+        for (TopMatch match : event.getMatches()) {
+            publish(new MatchNotification(new Recipient(RecipientType.CANDIDATE, match.candidateId()),
+                    match.candidateId(), match.internshipId(), match.score(), match.rank(), now));
+            if (match.recruiterId() != null) {
+                publish(new MatchNotification(new Recipient(RecipientType.RECRUITER, match.recruiterId()),
+                        match.candidateId(), match.internshipId(), match.score(), match.rank(), now));
+            }
+        }
+    }
+
+    // false if it was dropped because maxPending notifications are already waiting
+    public boolean publish(MatchNotification notification) {
+        if (pendingCount.incrementAndGet() > maxPending) {
+            pendingCount.decrementAndGet();
+            dropped.increment();
+            return false;
+        }
+        boolean[] replaced = new boolean[1];
+        pending.compute(notification.recipient(), (recipient, batch) -> {
+            Batch target = batch == null ? new Batch(notification.publishedAt()) : batch;
+            replaced[0] = target.add(notification);
+            return target;
+        });
+        if (replaced[0]) {
+            pendingCount.decrementAndGet(); // superseded an entry already counted
+        }
+        published.increment();
+        return true;
+    }
+
+    public int pendingCount() {
+        return pendingCount.get();
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.flush-interval-ms:1000}")
+    public void drain() {
+        try {
+            drain(System.currentTimeMillis(), false);
+        } catch (RuntimeException e) {
+            log.error("Notification drain failed", e);
+        }
+    }
+
+    // returns the number of batches handed to the executor; force ignores lingerMs
+    int drain(long now, boolean force) {
+        int dispatched = 0;
+        for (Recipient recipient : pending.keySet()) {
+            Batch[] taken = new Batch[1];
+            pending.computeIfPresent(recipient, (r, batch) -> {
+                if (force || batch.items.size() >= maxBatch || now - batch.firstAt >= lingerMs) {
+                    taken[0] = batch;
+                    return null;
+                }
+                return batch;
+            });
+            if (taken[0] == null) {
+                continue;
+            }
+            List<MatchNotification> items = taken[0].items;
+            try {
+                executor.execute(() -> deliver(recipient, items));
+                dispatched++;
+            } catch (RejectedExecutionException e) {
+                // delivery is behind: keep the batch (merging anything published meanwhile) and stop for this tick
+                pending.merge(recipient, taken[0], Batch::absorb);
+                break;
+            }
+        }
+        return dispatched;
+    }
+
+    private void deliver(Recipient recipient, List<MatchNotification> items) {
+        try {
+            batchSize.record(items.size());
+            for (NotificationSink sink : sinks) {
+                try {
+                    sink.deliver(recipient, items);
+                    meterRegistry.counter("notifications.delivered", "sink", sink.name()).increment(items.size());
+                } catch (RuntimeException e) {
+                    meterRegistry.counter("notifications.failed", "sink", sink.name()).increment(items.size());
+                    log.warn("Notification sink {} failed for {} {}", sink.name(), recipient.type(), recipient.id(), e);
+                }
+            }
+            long now = System.currentTimeMillis();
+            for (MatchNotification item : items) {
+                lag.record(now - item.publishedAt(), TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            pendingCount.addAndGet(-items.size());
+        }
+    }
+
+    // waits until everything published so far has been delivered (or timeoutMs passes), for shutdown and tests
+    boolean awaitIdle(long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (pendingCount.get() > 0) {
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            drain(System.currentTimeMillis(), true);
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!awaitIdle(5_000)) {
+            log.warn("Shutting down with {} undelivered notifications", pendingCount.get());
+        }
+        executor.shutdown();
+    }
+
+    // one recipient's pending notifications, guarded by the map's per-key compute
+    private static final class Batch {
+        final long firstAt;
+        final List<MatchNotification> items = new ArrayList<>();
+
+        Batch(long firstAt) {
+            this.firstAt = firstAt;
+        }
+
+        // true if it replaced an earlier notification for the same candidate/internship
+        boolean add(MatchNotification notification) {
+            for (int i = 0; i < items.size(); i++) {
+                MatchNotification existing = items.get(i);
+                if (existing.candidateId().equals(notification.candidateId())
+                        && existing.internshipId().equals(notification.internshipId())) {
+                    items.set(i, notification);
+                    return true;
+                }
+            }
+            items.add(notification);
+            return false;
+        }
+
+        // the returned batch keeps the older firstAt; duplicates across the two are simply kept
+        static Batch absorb(Batch newer, Batch older) {
+            older.items.addAll(newer.items);
+            return older;
+        }
+    }
+}
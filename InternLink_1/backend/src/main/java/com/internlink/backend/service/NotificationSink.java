@@ -0,0 +1,19 @@
+package com.internlink.backend.service;
+
+import java.util.List;
+
+import com.internlink.backend.service.NotificationBus.MatchNotification;
+import com.internlink.backend.service.NotificationBus.Recipient;
+
+/*
+ * A delivery channel for NotificationBus (email, webhook, in-app inbox...). Every NotificationSink bean gets
+ * every batch. Called on the bus's delivery threads, one recipient's batch per call, so an implementation
+ * can send one email / one webhook request / one multi-row insert per batch.
+ * Throwing only fails this sink for this batch; the other sinks still get it and nothing is retried.
+ */
+public interface NotificationSink {
+
+    String name();
+
+    void deliver(Recipient recipient, List<MatchNotification> notifications);
+}
@@ -0,0 +1,208 @@
+package com.internlink.backend.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.internlink.backend.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * All bcrypt work (signup hashing, login verification, rehashing) runs here instead of on the request thread.
+ *
+ * The pool is fixed size (one thread per core by default) with a short bounded queue. When both are full
+ * the caller gets a TooManyRequestsException (429) straight away, so a login burst queues a bounded
+ * amount of CPU work and everything else keeps its share of the machine.
+ *
+ * The bcrypt cost is security.bcrypt.strength, or if that is 0 it is calibrated at startup so one hash
+ * takes about security.bcrypt.target-ms on this host (never below 10, Spring's default).
+ *
+ * Metrics: security.bcrypt.wait (time queued for a thread), security.bcrypt.hash (the hashing itself, by op),
+ * security.bcrypt.rejected (429s) and the security.bcrypt.queue / security.bcrypt.active gauges.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    static final int MIN_STRENGTH = 10;
+    static final int MAX_STRENGTH = 16;
+
+    private final int strength;
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    private final Timer waitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PasswordHashingService(@Value("${security.bcrypt.strength:0}") int configuredStrength,
+                                  @Value("${security.bcrypt.target-ms:250}") long targetMs,
+                                  @Value("${security.bcrypt.threads:0}") int threads,
+                                  @Value("${security.bcrypt.queue-capacity:64}") int queueCapacity,
+                                  @Value("${security.bcrypt.timeout-ms:5000}") long timeoutMs,
+                                  MeterRegistry meterRegistry) {
+        this.strength = configuredStrength > 0 ? configuredStrength : calibrate(targetMs);
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.timeoutMs = timeoutMs;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "bcrypt-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("bcrypt cost {} on {} threads, queue {}", strength, poolSize, queueCapacity);
+
+        this.waitTimer = Timer.builder("security.bcrypt.wait").publishPercentileHistogram().register(meterRegistry);
+        this.encodeTimer = Timer.builder("security.bcrypt.hash").tag("op", "encode")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.matchesTimer = Timer.builder("security.bcrypt.hash").tag("op", "matches")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.rejected = meterRegistry.counter("security.bcrypt.rejected");
+        Gauge.builder("security.bcrypt.queue", this, PasswordHashingService::queueDepth).register(meterRegistry);
+        Gauge.builder("security.bcrypt.active", this, PasswordHashingService::activeCount).register(meterRegistry);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return await(submit(timed(encodeTimer, () -> encoder.encode(rawPassword))));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return await(submit(timed(matchesTimer, () -> encoder.matches(rawPassword, encodedPassword))));
+    }
+
+    // fire and forget hashing (used for rehash-on-login); completes exceptionally instead of throwing when saturated
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        try {
+            return CompletableFuture.supplyAsync(timed(encodeTimer, () -> encoder.encode(rawPassword)), executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // records how long the task sat in the queue, then how long it ran
+    private <T> Supplier<T> timed(Timer hashTimer, Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        return () -> {
+            long startedAt = System.nanoTime();
+            waitTimer.record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+            try {
+                return task.get();
+            } finally {
+                hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    // true if the stored hash was made with a different cost than the current one
+    public boolean needsRehash(String encodedPassword) {
+        return costOf(encodedPassword) != strength;
+    }
+
+    public int strength() {
+        return strength;
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int activeCount() {
+        return executor.getActiveCount();
+    }
+
+    // the underlying encoder for Spring Security's PasswordEncoder bean; calling it directly bypasses the pool
+    public PasswordEncoder encoder() {
+        return encoder;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> Future<T> submit(Supplier<T> task) {
+        try {
+            return executor.submit(task::get);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many login attempts right now, please retry shortly", 1);
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new TooManyRequestsException("Too many login attempts right now, please retry shortly", 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    // "$2a$10$..." -> 10, -1 if the hash isn't bcrypt
+    static int costOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return -1;
+        }
+        int costStart = encodedPassword.indexOf('$', 1) + 1;
+        try {
+            return Integer.parseInt(encodedPassword.substring(costStart, costStart + 2));
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    /*
+     * Each +1 in cost doubles the hashing time, so time one hash at MIN_STRENGTH and add
+     * log2(target / measured) rounded to the nearest step.
+     */
+    static int calibrate(long targetMs) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_STRENGTH);
+        probe.encode("warm-up");
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration-probe");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double measuredMs = Math.max(best / 1_000_000.0, 0.01);
+        int steps = (int) Math.round(Math.log(targetMs / measuredMs) / Math.log(2));
+        int calibrated = Math.max(MIN_STRENGTH, Math.min(MAX_STRENGTH, MIN_STRENGTH + steps));
+        log.info("bcrypt calibration: cost {} took {} ms, target {} ms -> cost {}",
+                MIN_STRENGTH, String.format("%.1f", measuredMs), targetMs, calibrated);
+        return calibrated;
+    }
+}
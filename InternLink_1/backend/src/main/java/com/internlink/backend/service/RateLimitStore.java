@@ -0,0 +1,18 @@
+package com.internlink.backend.service;
+
+/*
+ * Where token-bucket state lives. The default (CaffeineRateLimitStore) is per node; a deployment with several
+ * nodes behind a load balancer can provide its own bean backed by something shared (Redis, the database...)
+ * so a client can't multiply its allowance by the number of nodes.
+ *
+ * Implementations must take the token atomically: two concurrent calls for the same key never both get the last one.
+ */
+public interface RateLimitStore {
+
+    /*
+     * Takes one token from the bucket under key, which holds up to capacity tokens and gains one every
+     * nanosPerToken. A bucket seen for the first time starts full.
+     * Returns 0 if a token was taken, otherwise how many nanoseconds until one will be available.
+     */
+    long tryConsume(String key, int capacity, long nanosPerToken);
+}
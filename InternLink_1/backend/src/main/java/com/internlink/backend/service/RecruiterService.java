@@ -1,5 +1,77 @@
 package com.internlink.backend.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.internlink.backend.entity.MatchScore;
+import com.internlink.backend.entity.User;
+import com.internlink.backend.repository.MatchScoreReader;
+
+/*
+ * What a recruiter sees of the candidates matched to their internships: keyset pages for browsing, and an
+ * NDJSON export that writes each row to the response as it comes off the database cursor.
+ * The "best candidates" shortlist is served from MatchingEngine's in-memory leaderboard, no query at all.
+ */
+@Service
 public class RecruiterService {
-    
+
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private final InternshipService internshipService;
+    private final MatchScoreReader matchScoreReader;
+    private final MatchingEngine matchingEngine;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter; // no flush per row, the generator's buffer decides
+
+    public RecruiterService(InternshipService internshipService, MatchScoreReader matchScoreReader,
+                            MatchingEngine matchingEngine, ObjectMapper objectMapper) {
+        this.internshipService = internshipService;
+        this.matchScoreReader = matchScoreReader;
+        this.matchingEngine = matchingEngine;
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public MatchScoreReader.MatchPage listCandidates(Long internshipId, User recruiter, String after, int limit) {
+        internshipService.getOwnedInternship(internshipId, recruiter);
+        return matchScoreReader.page(internshipId, after, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+    }
+
+    // best k by current score, at most LEADERBOARD_CAPACITY; empty once the internship is closed
+    public List<MatchScore> topCandidates(Long internshipId, User recruiter, int k) {
+        internshipService.getOwnedInternship(internshipId, recruiter);
+        return matchingEngine.leaderboard(internshipId, Math.max(1, Math.min(k, MatchingEngine.LEADERBOARD_CAPACITY)));
+    }
+
+    // call before the response is committed, so a 403/404 can still be sent as such
+    public void checkCanExport(Long internshipId, User recruiter) {
+        internshipService.getOwnedInternship(internshipId, recruiter);
+    }
+
+    // one JSON object per line, written out in buffer-sized steps; nothing is collected in memory
+    public void exportCandidates(Long internshipId, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.setRootValueSeparator(null);
+        try {
+            matchScoreReader.forEach(internshipId, match -> {
+                try {
+                    rowWriter.writeValue(generator, match);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // client went away, stop reading the cursor
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        generator.flush();
+    }
 }
@@ -0,0 +1,117 @@
+package com.internlink.backend.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/*
+ * Skill sets as long[] bitsets over SkillDictionary ids (bit i set = has skill i).
+ * Arrays are trimmed to the highest set bit, so two bitsets are the same set iff Arrays.equals.
+ * Everything except the builders is allocation free, which is what the matching hot path needs.
+ * Bitsets handed out by the index are shared, treat them as read only.
+ */
+public final class SkillBitSet {
+
+    public static final long[] EMPTY = new long[0];
+
+    private SkillBitSet() {
+    }
+
+    public static long[] of(Collection<String> skills, SkillDictionary dictionary) {
+        if (skills == null || skills.isEmpty()) {
+            return EMPTY;
+        }
+        long[] bits = new long[4];
+        int maxWord = -1;
+        for (String skill : skills) {
+            int id = dictionary.intern(skill);
+            if (id < 0) {
+                continue;
+            }
+            int word = id >>> 6;
+            if (word >= bits.length) {
+                bits = Arrays.copyOf(bits, Math.max(word + 1, bits.length * 2));
+            }
+            bits[word] |= 1L << id;
+            maxWord = Math.max(maxWord, word);
+        }
+        return maxWord < 0 ? EMPTY : Arrays.copyOf(bits, maxWord + 1);
+    }
+
+    public static boolean contains(long[] bits, int id) {
+        int word = id >>> 6;
+        return word < bits.length && (bits[word] & (1L << id)) != 0;
+    }
+
+    public static int cardinality(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public static int intersectionCount(long[] a, long[] b) {
+        int n = Math.min(a.length, b.length);
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+
+    public static boolean intersects(long[] a, long[] b) {
+        int n = Math.min(a.length, b.length);
+        for (int i = 0; i < n; i++) {
+            if ((a[i] & b[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // |a ∩ b| / |a ∪ b|, 0 when both are empty
+    public static double jaccard(long[] a, long[] b) {
+        int intersection = intersectionCount(a, b);
+        int union = cardinality(a) + cardinality(b) - intersection;
+        return union == 0 ? 0 : (double) intersection / union;
+    }
+
+    /*
+     * Sum of the weights of the required skills the candidate also has.
+     * weightsByRank holds one weight per bit set in required, in ascending skill id order, so the
+     * weight of a skill is found by counting the required bits below it instead of a per-id lookup table.
+     */
+    public static double weightedOverlap(long[] candidate, long[] required, double[] weightsByRank) {
+        int n = Math.min(candidate.length, required.length);
+        double sum = 0;
+        int rankBase = 0;
+        for (int i = 0; i < n; i++) {
+            long req = required[i];
+            long common = candidate[i] & req;
+            while (common != 0) {
+                long lowest = common & -common;
+                sum += weightsByRank[rankBase + Long.bitCount(req & (lowest - 1))];
+                common ^= lowest;
+            }
+            rankBase += Long.bitCount(req);
+        }
+        return sum;
+    }
+
+    // calls the consumer with every skill id set in a or b, each once
+    public static void forEachInUnion(long[] a, long[] b, IdConsumer consumer) {
+        int n = Math.max(a.length, b.length);
+        for (int i = 0; i < n; i++) {
+            long word = (i < a.length ? a[i] : 0) | (i < b.length ? b[i] : 0);
+            while (word != 0) {
+                consumer.accept((i << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface IdConsumer {
+        void accept(int id);
+    }
+}
@@ -0,0 +1,61 @@
+package com.internlink.backend.service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Interns normalized skill names to dense int ids (0, 1, 2, ...) so skill sets can be stored as bitsets.
+ * Ids are handed out in first-seen order and never reused, so the common skills that show up early
+ * get small ids and most candidates' bitsets stay a word or two long.
+ * Lookups are lock free, only assigning a new id synchronizes.
+ */
+public class SkillDictionary {
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[256];
+    private volatile int size;
+
+    // id for the skill, assigning a new one if it was never seen; -1 for blank input
+    public int intern(String skill) {
+        String normalized = SkillIndex.normalize(skill);
+        if (normalized == null) {
+            return -1;
+        }
+        Integer id = ids.get(normalized);
+        return id != null ? id : assign(normalized);
+    }
+
+    // id for the skill without growing the dictionary, -1 if unknown
+    public int idOf(String skill) {
+        String normalized = SkillIndex.normalize(skill);
+        if (normalized == null) {
+            return -1;
+        }
+        Integer id = ids.get(normalized);
+        return id == null ? -1 : id;
+    }
+
+    public String nameOf(int id) {
+        return id >= 0 && id < size ? names[id] : null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private synchronized int assign(String normalized) {
+        Integer existing = ids.get(normalized);
+        if (existing != null) {
+            return existing;
+        }
+        int id = size;
+        if (id == names.length) {
+            names = Arrays.copyOf(names, id * 2);
+        }
+        names[id] = normalized;
+        size = id + 1;
+        ids.put(normalized, id); // published last, so anyone who can see the id can also resolve its name
+        return id;
+    }
+}
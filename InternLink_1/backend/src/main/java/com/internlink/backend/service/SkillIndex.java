@@ -0,0 +1,257 @@
+package com.internlink.backend.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Inverted index for matching: skill id -> every candidate that lists it.
+ *
+ * Each candidate gets a dense int "slot", so posting lists are int arrays and the per-query score
+ * accumulator is a plain double[] indexed by slot instead of a HashMap<Long, Double>.
+ * Scoring an internship is one pass over the posting lists of its required skills; candidates
+ * that share no skill with it are never touched.
+ * Skills are SkillDictionary ids and each candidate's skill set is kept as a SkillBitSet,
+ * so nothing per candidate holds on to String objects.
+ *
+ * Index/remove take the write lock, scoring only the read lock so queries run in parallel.
+ */
+public class SkillIndex {
+
+    /*
+     * Scratch accumulators are borrowed from a small shared pool (also across index rebuilds).
+     * Not a ThreadLocal: with virtual threads every request is a new thread, so that would allocate a
+     * slot-sized array per query. Only about as many as run concurrently on the CPU are kept.
+     */
+    private static final int MAX_POOLED_SCRATCH = Runtime.getRuntime().availableProcessors() * 2;
+    private static final ConcurrentLinkedQueue<Scratch> SCRATCH_POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOLED_SCRATCH = new AtomicInteger();
+
+    private final SkillDictionary dictionary;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private IntList[] postings = new IntList[256];
+    private final Map<Long, Integer> slotByCandidate = new HashMap<>();
+    private final IntList freeSlots = new IntList();
+    private long[] candidateBySlot = new long[1024];
+    private long[][] bitsBySlot = new long[1024][];
+    private int slotCount; // high-water mark, slots below it may be free
+
+    public SkillIndex(SkillDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    public static String normalize(String skill) {
+        if (skill == null) {
+            return null;
+        }
+        String normalized = skill.trim().toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    public SkillDictionary dictionary() {
+        return dictionary;
+    }
+
+    // adds the candidate, or replaces whatever skills were indexed for them before
+    public void put(long candidateId, Collection<String> skills) {
+        put(candidateId, SkillBitSet.of(skills, dictionary));
+    }
+
+    public void put(long candidateId, long[] bits) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = slotByCandidate.get(candidateId);
+            int slot;
+            if (existing != null) {
+                slot = existing;
+                unlink(slot);
+            } else {
+                slot = allocateSlot();
+                slotByCandidate.put(candidateId, slot);
+                candidateBySlot[slot] = candidateId;
+            }
+
+            bitsBySlot[slot] = bits;
+            final int s = slot;
+            SkillBitSet.forEachInUnion(bits, SkillBitSet.EMPTY, id -> posting(id).add(s));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long candidateId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotByCandidate.remove(candidateId);
+            if (slot != null) {
+                unlink(slot);
+                bitsBySlot[slot] = null;
+                freeSlots.add(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // skill bitset currently indexed for the candidate, EMPTY if unknown; shared, don't modify
+    public long[] bitsOf(long candidateId) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotByCandidate.get(candidateId);
+            return slot == null ? SkillBitSet.EMPTY : bitsBySlot[slot];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // point-in-time copy of (candidate id, bitset) for every indexed candidate, for bulk scoring without holding the lock
+    public Snapshot snapshot() {
+        lock.readLock().lock();
+        try {
+            int n = slotByCandidate.size();
+            long[] ids = new long[n];
+            long[][] bits = new long[n][];
+            int i = 0;
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (bitsBySlot[slot] != null) {
+                    ids[i] = candidateBySlot[slot];
+                    bits[i] = bitsBySlot[slot];
+                    i++;
+                }
+            }
+            return new Snapshot(ids, bits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotByCandidate.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Scores every candidate sharing at least one skill with the query and offers it to the heap.
+     * skillIds must be unique, weights must be > 0.
+     * The score is the matched weight divided by totalWeight.
+     */
+    public void score(int[] skillIds, double[] weights, double totalWeight, TopKHeap heap) {
+        Scratch scratch = borrowScratch();
+        lock.readLock().lock();
+        try {
+            scratch.ensureCapacity(slotCount);
+            double[] acc = scratch.acc;
+            int[] touched = scratch.touched;
+            int touchedCount = 0;
+
+            for (int i = 0; i < skillIds.length; i++) {
+                int id = skillIds[i];
+                IntList posting = id < postings.length ? postings[id] : null;
+                if (posting == null) {
+                    continue;
+                }
+                int[] slots = posting.data;
+                int n = posting.size;
+                double weight = weights[i];
+                for (int j = 0; j < n; j++) {
+                    int slot = slots[j];
+                    if (acc[slot] == 0) {
+                        touched[touchedCount++] = slot;
+                    }
+                    acc[slot] += weight;
+                }
+            }
+
+            for (int i = 0; i < touchedCount; i++) {
+                int slot = touched[i];
+                heap.offer(candidateBySlot[slot], acc[slot] / totalWeight);
+                acc[slot] = 0; // leave the scratch zeroed for the next query
+            }
+        } finally {
+            lock.readLock().unlock();
+            returnScratch(scratch);
+        }
+    }
+
+    private static Scratch borrowScratch() {
+        Scratch scratch = SCRATCH_POOL.poll();
+        if (scratch == null) {
+            return new Scratch();
+        }
+        POOLED_SCRATCH.decrementAndGet();
+        return scratch;
+    }
+
+    private static void returnScratch(Scratch scratch) {
+        if (POOLED_SCRATCH.incrementAndGet() <= MAX_POOLED_SCRATCH) {
+            SCRATCH_POOL.offer(scratch);
+        } else {
+            POOLED_SCRATCH.decrementAndGet();
+        }
+    }
+
+    private IntList posting(int id) {
+        if (id >= postings.length) {
+            postings = Arrays.copyOf(postings, Math.max(id + 1, postings.length * 2));
+        }
+        IntList posting = postings[id];
+        if (posting == null) {
+            posting = new IntList();
+            postings[id] = posting;
+        }
+        return posting;
+    }
+
+    private int allocateSlot() {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.pop();
+        }
+        if (slotCount == candidateBySlot.length) {
+            int grown = slotCount * 2;
+            candidateBySlot = Arrays.copyOf(candidateBySlot, grown);
+            bitsBySlot = Arrays.copyOf(bitsBySlot, grown);
+        }
+        return slotCount++;
+    }
+
+    private void unlink(int slot) {
+        long[] old = bitsBySlot[slot];
+        if (old == null) {
+            return;
+        }
+        SkillBitSet.forEachInUnion(old, SkillBitSet.EMPTY, id -> {
+            IntList posting = id < postings.length ? postings[id] : null;
+            if (posting != null) {
+                posting.removeValue(slot);
+            }
+        });
+    }
+
+    public record Snapshot(long[] candidateIds, long[][] bits) {
+        public int size() {
+            return candidateIds.length;
+        }
+    }
+
+    private static final class Scratch {
+        double[] acc = new double[0];
+        int[] touched = new int[0];
+
+        void ensureCapacity(int slots) {
+            if (acc.length < slots) {
+                int size = Math.max(slots, acc.length * 2);
+                acc = new double[size];
+                touched = new int[size];
+            }
+        }
+    }
+}
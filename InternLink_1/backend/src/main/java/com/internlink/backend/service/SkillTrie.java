@@ -0,0 +1,299 @@
+package com.internlink.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Immutable prefix trie over the canonical skill vocabulary (SkillVocabulary), for autocomplete and typo correction.
+ *
+ * Stored as flat arrays, no node objects: terms are sorted by key, so every node's subtree is a contiguous
+ * term range [termLo, termHi), and nodes are laid out breadth first, so a node's children are one contiguous,
+ * label-sorted run found by binary search. Nodes whose subtree has more than MAX_SUGGESTIONS terms keep their
+ * best MAX_SUGGESTIONS term ids (most used first) precomputed; a prefix lookup is a walk down the prefix plus
+ * copying those out, smaller subtrees are ranked on the spot.
+ *
+ * correct() is a Levenshtein search over the trie (one DP row per depth, shared prefixes computed once, branches
+ * pruned as soon as the whole row is over budget), with adjacent transpositions counted as one edit.
+ *
+ * Keys are SkillIndex.normalize'd with inner whitespace collapsed; names are the display spelling.
+ * Never modified after build, so it's shared between threads without locking and swapped wholesale on rebuild.
+ */
+public final class SkillTrie {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    public static final SkillTrie EMPTY = build(List.of());
+
+    public record Term(String name, long uses) {
+    }
+
+    private final String[] keys;
+    private final String[] names;
+    private final long[] uses;
+
+    private final char[] label;
+    private final int[] firstChild;
+    private final int[] childEnd;
+    private final int[] termLo;
+    private final int[] termHi;
+    private final int[] terminal; // term id ending at the node, -1 if none
+    private final int[][] top;    // best term ids of the subtree, only where it has more than MAX_SUGGESTIONS
+    private final int maxKeyLength;
+
+    private SkillTrie(String[] keys, String[] names, long[] uses, Builder nodes) {
+        this.keys = keys;
+        this.names = names;
+        this.uses = uses;
+        this.label = Arrays.copyOf(nodes.label, nodes.count);
+        this.firstChild = Arrays.copyOf(nodes.firstChild, nodes.count);
+        this.childEnd = Arrays.copyOf(nodes.childEnd, nodes.count);
+        this.termLo = Arrays.copyOf(nodes.termLo, nodes.count);
+        this.termHi = Arrays.copyOf(nodes.termHi, nodes.count);
+        this.terminal = Arrays.copyOf(nodes.terminal, nodes.count);
+        this.top = new int[nodes.count][];
+        int longest = 0;
+        for (String key : keys) {
+            longest = Math.max(longest, key.length());
+        }
+        this.maxKeyLength = longest;
+        for (int node = 0; node < nodes.count; node++) {
+            if (termHi[node] - termLo[node] > MAX_SUGGESTIONS) {
+                top[node] = rank(termLo[node], termHi[node], MAX_SUGGESTIONS);
+            }
+        }
+    }
+
+    // terms with the same key are merged: uses add up, the most used spelling is kept
+    public static SkillTrie build(Collection<Term> terms) {
+        Map<String, Term> byKey = new LinkedHashMap<>();
+        for (Term term : terms) {
+            String key = key(term.name());
+            if (key == null) {
+                continue;
+            }
+            byKey.merge(key, term, (a, b) -> new Term(a.uses() >= b.uses() ? a.name() : b.name(), a.uses() + b.uses()));
+        }
+        String[] keys = byKey.keySet().toArray(new String[0]);
+        Arrays.sort(keys);
+        String[] names = new String[keys.length];
+        long[] uses = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            Term term = byKey.get(keys[i]);
+            names[i] = term.name().trim().replaceAll("\\s+", " ");
+            uses[i] = term.uses();
+        }
+
+        // breadth first: node n is expanded when the loop reaches it, its children are appended at the end
+        Builder nodes = new Builder();
+        nodes.add('\0', 0, keys.length, 0);
+        for (int node = 0; node < nodes.count; node++) {
+            int lo = nodes.termLo[node];
+            int hi = nodes.termHi[node];
+            int depth = nodes.depth[node];
+            nodes.terminal[node] = -1;
+            if (lo < hi && keys[lo].length() == depth) {
+                nodes.terminal[node] = lo++; // sorted, so the key ending here comes first
+            }
+            nodes.firstChild[node] = nodes.count;
+            while (lo < hi) {
+                char c = keys[lo].charAt(depth);
+                int end = lo + 1;
+                while (end < hi && keys[end].charAt(depth) == c) {
+                    end++;
+                }
+                nodes.add(c, lo, end, depth + 1);
+                lo = end;
+            }
+            nodes.childEnd[node] = nodes.count;
+        }
+        return new SkillTrie(keys, names, uses, nodes);
+    }
+
+    // the lookup key of a skill: trimmed, lowercase, single spaces; null for blank input
+    public static String key(String skill) {
+        String normalized = SkillIndex.normalize(skill);
+        return normalized == null ? null : normalized.replaceAll("\\s+", " ");
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    // the vocabulary's spelling of exactly this skill (ignoring case and spacing), null if it isn't a term
+    public String canonical(String skill) {
+        String key = key(skill);
+        if (key == null) {
+            return null;
+        }
+        int i = Arrays.binarySearch(keys, key);
+        return i >= 0 ? names[i] : null;
+    }
+
+    // up to limit (at most MAX_SUGGESTIONS) terms starting with the prefix, most used first
+    public List<String> suggest(String prefix, int limit) {
+        String key = key(prefix);
+        int n = Math.min(limit, MAX_SUGGESTIONS);
+        if (key == null || n <= 0) {
+            return List.of();
+        }
+        int node = 0;
+        for (int i = 0; i < key.length() && node >= 0; i++) {
+            node = child(node, key.charAt(i));
+        }
+        if (node < 0) {
+            return List.of();
+        }
+        int[] ranked = top[node] != null ? top[node] : rank(termLo[node], termHi[node], n);
+        List<String> suggestions = new ArrayList<>(Math.min(n, ranked.length));
+        for (int i = 0; i < ranked.length && i < n; i++) {
+            suggestions.add(names[ranked[i]]);
+        }
+        return suggestions;
+    }
+
+    /*
+     * The term closest to the skill within maxEdits (insert, delete, substitute, swap two neighbours), fewer edits
+     * first, then the more used one. An exact match is returned as is; null when nothing is close enough.
+     */
+    public String correct(String skill, int maxEdits) {
+        String key = key(skill);
+        if (key == null) {
+            return null;
+        }
+        int exact = Arrays.binarySearch(keys, key);
+        if (exact >= 0) {
+            return names[exact];
+        }
+        if (maxEdits <= 0 || keys.length == 0) {
+            return null;
+        }
+        int width = key.length() + 1;
+        int depthLimit = Math.min(maxKeyLength, key.length() + maxEdits);
+        Search search = new Search(key, maxEdits, new int[depthLimit + 1][width]);
+        for (int i = 0; i < width; i++) {
+            search.rows[0][i] = i;
+        }
+        for (int c = firstChild[0]; c < childEnd[0]; c++) {
+            search(search, c, 1);
+        }
+        return search.best < 0 ? null : names[search.best];
+    }
+
+    private void search(Search search, int node, int depth) {
+        String key = search.key;
+        int[] prev = search.rows[depth - 1];
+        int[] row = search.rows[depth];
+        char c = label[node];
+        char parentLabel = depth > 1 ? search.path[depth - 2] : '\0';
+        search.path[depth - 1] = c;
+
+        row[0] = depth;
+        int rowMin = row[0];
+        for (int i = 1; i < row.length; i++) {
+            int cost = key.charAt(i - 1) == c ? 0 : 1;
+            int d = Math.min(Math.min(row[i - 1] + 1, prev[i] + 1), prev[i - 1] + cost);
+            if (depth > 1 && i > 1 && key.charAt(i - 1) == parentLabel && key.charAt(i - 2) == c) {
+                d = Math.min(d, search.rows[depth - 2][i - 2] + 1); // transposition
+            }
+            row[i] = d;
+            rowMin = Math.min(rowMin, d);
+        }
+
+        int term = terminal[node];
+        int distance = row[row.length - 1];
+        if (term >= 0 && distance <= search.maxEdits && search.better(term, distance, uses)) {
+            search.best = term;
+            search.bestDistance = distance;
+        }
+        if (rowMin <= search.maxEdits && depth < search.rows.length - 1) {
+            for (int child = firstChild[node]; child < childEnd[node]; child++) {
+                search(search, child, depth + 1);
+            }
+        }
+    }
+
+    private int child(int node, char c) {
+        int lo = firstChild[node];
+        int hi = childEnd[node] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (label[mid] < c) {
+                lo = mid + 1;
+            } else if (label[mid] > c) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    // the n most used term ids in [lo, hi), alphabetical among equals
+    private int[] rank(int lo, int hi, int n) {
+        Integer[] ids = new Integer[hi - lo];
+        for (int i = lo; i < hi; i++) {
+            ids[i - lo] = i;
+        }
+        Arrays.sort(ids, Comparator.<Integer>comparingLong(id -> -uses[id]).thenComparingInt(id -> id));
+        int[] ranked = new int[Math.min(n, ids.length)];
+        for (int i = 0; i < ranked.length; i++) {
+            ranked[i] = ids[i];
+        }
+        return ranked;
+    }
+
+    private static final class Search {
+        final String key;
+        final int maxEdits;
+        final int[][] rows;
+        final char[] path;
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+
+        Search(String key, int maxEdits, int[][] rows) {
+            this.key = key;
+            this.maxEdits = maxEdits;
+            this.rows = rows;
+            this.path = new char[rows.length];
+        }
+
+        boolean better(int term, int distance, long[] uses) {
+            return best < 0 || distance < bestDistance || (distance == bestDistance && uses[term] > uses[best]);
+        }
+    }
+
+    // growable node arrays while building
+    private static final class Builder {
+        char[] label = new char[64];
+        int[] firstChild = new int[64];
+        int[] childEnd = new int[64];
+        int[] termLo = new int[64];
+        int[] termHi = new int[64];
+        int[] terminal = new int[64];
+        int[] depth = new int[64];
+        int count;
+
+        void add(char c, int lo, int hi, int nodeDepth) {
+            if (count == label.length) {
+                int grown = count * 2;
+                label = Arrays.copyOf(label, grown);
+                firstChild = Arrays.copyOf(firstChild, grown);
+                childEnd = Arrays.copyOf(childEnd, grown);
+                termLo = Arrays.copyOf(termLo, grown);
+                termHi = Arrays.copyOf(termHi, grown);
+                terminal = Arrays.copyOf(terminal, grown);
+                depth = Arrays.copyOf(depth, grown);
+            }
+            label[count] = c;
+            termLo[count] = lo;
+            termHi[count] = hi;
+            depth[count] = nodeDepth;
+            count++;
+        }
+    }
+}
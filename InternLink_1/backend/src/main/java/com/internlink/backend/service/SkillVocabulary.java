@@ -0,0 +1,182 @@
+package com.internlink.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.internlink.backend.repository.CandidateSkillRepository;
+import com.internlink.backend.repository.InternshipRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/*
+ * The canonical skill vocabulary, served from an in-memory SkillTrie: autocomplete for the profile form
+ * (/api/skills/suggest) and the spelling a saved skill is stored under, so "python ", "PYTHON" and "Pyhton" all
+ * end up as the one "Python" the matcher knows. Removals go through lookup() so they find the stored spelling.
+ *
+ * Terms are the required skills of open internships plus every skill at least min-uses profiles list, each in
+ * its most common spelling. Loaded at startup. Skills saved since then that matched no term are remembered,
+ * and once rebuild-after-new-terms distinct ones have come in the scheduled check rebuilds the trie (one
+ * GROUP BY over candidate_skills) off the request path and swaps it in; requests keep using the old one meanwhile.
+ *
+ * Typo budget grows with the length: up to 4 characters must match exactly, up to 8 may be one edit off,
+ * longer ones two. Anything further away is stored as typed (trimmed).
+ *
+ * Metrics: skills.vocabulary.size gauge, skills.vocabulary.rebuild timer, skills.canonicalized counter
+ * (result=exact|corrected|unknown).
+ */
+@Service
+public class SkillVocabulary {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillVocabulary.class);
+
+    private final CandidateSkillRepository candidateSkillRepository;
+    private final InternshipRepository internshipRepository;
+    private final long minUses;
+    private final int rebuildAfterNewTerms;
+
+    // swapped wholesale on rebuild, SkillTrie itself is immutable
+    private volatile SkillTrie trie = SkillTrie.EMPTY;
+
+    // keys saved since the last rebuild that aren't terms, capped at rebuildAfterNewTerms (enough to trigger it)
+    private final Set<String> unseen = ConcurrentHashMap.newKeySet();
+
+    private final Timer rebuildTimer;
+    private final Counter exact;
+    private final Counter corrected;
+    private final Counter unknown;
+
+    public SkillVocabulary(CandidateSkillRepository candidateSkillRepository,
+                           InternshipRepository internshipRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${skills.vocabulary.min-uses:3}") long minUses,
+                           @Value("${skills.vocabulary.rebuild-after-new-terms:50}") int rebuildAfterNewTerms) {
+        this.candidateSkillRepository = candidateSkillRepository;
+        this.internshipRepository = internshipRepository;
+        this.minUses = minUses;
+        this.rebuildAfterNewTerms = rebuildAfterNewTerms;
+        this.rebuildTimer = Timer.builder("skills.vocabulary.rebuild").register(meterRegistry);
+        this.exact = Counter.builder("skills.canonicalized").tag("result", "exact").register(meterRegistry);
+        this.corrected = Counter.builder("skills.canonicalized").tag("result", "corrected").register(meterRegistry);
+        this.unknown = Counter.builder("skills.canonicalized").tag("result", "unknown").register(meterRegistry);
+        Gauge.builder("skills.vocabulary.size", this, SkillVocabulary::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        unseen.clear(); // before reading, so skills saved while this runs count towards the next rebuild
+        SkillTrie fresh = rebuildTimer.record(() -> SkillTrie.build(loadTerms()));
+        trie = fresh;
+        log.info("Skill vocabulary rebuilt with {} terms", fresh.size());
+    }
+
+    @Scheduled(fixedDelayString = "${skills.vocabulary.check-interval-ms:60000}")
+    public void rebuildIfGrown() {
+        if (unseen.size() < rebuildAfterNewTerms) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Skill vocabulary rebuild failed", e);
+        }
+    }
+
+    public int size() {
+        return trie.size();
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        return trie.suggest(prefix, limit);
+    }
+
+    // the spelling to store: the term it matches or is a small typo of, otherwise the input trimmed (null stays null)
+    public String canonicalize(String skill) {
+        String key = SkillTrie.key(skill);
+        if (key == null) {
+            return skill == null ? null : skill.trim();
+        }
+        SkillTrie current = trie;
+        String canonical = current.canonical(key);
+        if (canonical != null) {
+            exact.increment();
+            return canonical;
+        }
+        canonical = current.correct(key, maxEdits(key.length()));
+        if (canonical != null) {
+            corrected.increment();
+            return canonical;
+        }
+        unknown.increment();
+        if (unseen.size() < rebuildAfterNewTerms) {
+            unseen.add(key);
+        }
+        return skill.trim();
+    }
+
+    // same mapping as canonicalize, without counting it or remembering unknown skills (for matching, not storing)
+    public String lookup(String skill) {
+        String key = SkillTrie.key(skill);
+        if (key == null) {
+            return skill == null ? null : skill.trim();
+        }
+        SkillTrie current = trie;
+        String canonical = current.canonical(key);
+        if (canonical == null) {
+            canonical = current.correct(key, maxEdits(key.length()));
+        }
+        return canonical != null ? canonical : skill.trim();
+    }
+
+    static int maxEdits(int length) {
+        return length <= 4 ? 0 : length <= 8 ? 1 : 2;
+    }
+
+    // every profile spelling of a qualifying skill (the trie merges them per key), internship skills always qualify
+    private List<SkillTrie.Term> loadTerms() {
+        List<CandidateSkillRepository.SkillUse> spellings = candidateSkillRepository.countSkillUses();
+        Map<String, Long> usesByKey = new HashMap<>();
+        for (CandidateSkillRepository.SkillUse spelling : spellings) {
+            String key = SkillTrie.key(spelling.getSkillName());
+            if (key != null) {
+                usesByKey.merge(key, spelling.getUses(), Long::sum);
+            }
+        }
+        Set<String> required = new HashSet<>();
+        for (String name : internshipRepository.findSkillNamesByStatus(InternshipService.OPEN)) {
+            String key = SkillTrie.key(name);
+            if (key != null) {
+                required.add(key);
+            }
+        }
+
+        List<SkillTrie.Term> terms = new ArrayList<>();
+        for (CandidateSkillRepository.SkillUse spelling : spellings) {
+            String key = SkillTrie.key(spelling.getSkillName());
+            if (key != null && (required.contains(key) || usesByKey.get(key) >= minUses)) {
+                terms.add(new SkillTrie.Term(spelling.getSkillName(), spelling.getUses()));
+            }
+        }
+        for (String key : required) {
+            if (!usesByKey.containsKey(key)) {
+                terms.add(new SkillTrie.Term(key, 0)); // nobody lists it yet, the internship's spelling it is
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,40 @@
+package com.internlink.backend.service;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.internlink.backend.repository.UserRepository;
+
+/*
+ * Local cache of users.token_version for the stateless auth path.
+ * A token is still accepted for up to ttl after its user's version was bumped on another node;
+ * on this node revokeTokens invalidates the entry right away.
+ * Misses query on the calling thread outside the cache's locks (CallerRunsCache), this is hit on every request.
+ */
+@Component
+public class TokenVersionCache {
+
+    private final UserRepository userRepository;
+    private final CallerRunsCache<Long, Integer> versions;
+
+    public TokenVersionCache(UserRepository userRepository,
+                             @Value("${security.jwt.version-check.ttl-seconds:60}") long ttlSeconds,
+                             @Value("${security.jwt.version-check.max-size:50000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.versions = new CallerRunsCache<>(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds)));
+    }
+
+    public int currentVersion(Long userId) {
+        // unknown (deleted) users map to -1 so their tokens never match
+        return versions.get(userId, id -> userRepository.findTokenVersionByUserId(id).orElse(-1));
+    }
+
+    public void invalidate(Long userId) {
+        versions.invalidate(userId);
+    }
+}
@@ -0,0 +1,131 @@
+package com.internlink.backend.service;
+
+/*
+ * Bounded min-heap on parallel primitive arrays: keeps the k best (id, score) pairs seen so far.
+ * The root is the weakest entry, so a candidate that can't make the cut is rejected with one comparison.
+ * Ties on score go to the lower id, which keeps results stable between runs.
+ * Not thread safe, one heap per query / per shard.
+ */
+public final class TopKHeap {
+    private final int capacity;
+    private final long[] ids;
+    private final double[] scores;
+    private int size;
+
+    public TopKHeap(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.ids = new long[capacity];
+        this.scores = new double[capacity];
+    }
+
+    public boolean offer(long id, double score) {
+        if (size < capacity) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+            return true;
+        }
+        if (!weaker(0, id, score)) {
+            return false;
+        }
+        ids[0] = id;
+        scores[0] = score;
+        siftDown(0);
+        return true;
+    }
+
+    // merges another heap's entries into this one (used when combining per-shard results)
+    public void addAll(TopKHeap other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.ids[i], other.scores[i]);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    // score of the weakest entry, i.e. the bar a new entry has to beat once the heap is full
+    public double minScore() {
+        return size == 0 ? Double.NEGATIVE_INFINITY : scores[0];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /*
+     * Empties the heap into the given arrays, best first, and returns how many entries were written.
+     * Heap-sorts in place so no extra allocation is needed.
+     */
+    public int drainDescending(long[] idsOut, double[] scoresOut) {
+        int n = size;
+        for (int i = n - 1; i >= 0; i--) {
+            idsOut[i] = ids[0];
+            scoresOut[i] = scores[0];
+            size--;
+            if (size > 0) {
+                ids[0] = ids[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+        }
+        return n;
+    }
+
+    // true if the entry at heap index i ranks below (id, score)
+    private boolean weaker(int i, long id, double score) {
+        return scores[i] < score || (scores[i] == score && ids[i] > id);
+    }
+
+    private boolean weaker(int i, int j) {
+        return weaker(i, ids[j], scores[j]);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!weaker(i, parent)) {
+                break;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int right = left + 1;
+            int weakest = (right < size && weaker(right, left)) ? right : left;
+            if (!weaker(weakest, i)) {
+                return;
+            }
+            swap(i, weakest);
+            i = weakest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
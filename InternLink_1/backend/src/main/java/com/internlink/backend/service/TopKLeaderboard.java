@@ -0,0 +1,151 @@
+package com.internlink.backend.service;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+ * Best candidates for one internship, kept up to date as scores change, readable in O(k) without a sort.
+ *
+ * The state is an immutable Board (ids + scores, best first, ties to the lower id like TopKHeap) behind an
+ * AtomicReference. A writer copies the board with its change applied and CASes it in, retrying if another
+ * writer got there first, so any number of scoring threads can publish at once and a reader just takes the
+ * current reference: always a consistent snapshot, never blocking or blocked.
+ * Most updates don't touch the board at all (a candidate who isn't on it and doesn't beat the last entry),
+ * those are a read and a scan, no allocation.
+ *
+ * The board holds up to capacity entries, more than readers ask for, as slack for candidates dropping out.
+ * Candidates that didn't make the board aren't tracked, so when a member's score goes down while the board
+ * is full it is dropped rather than moved down (someone off the board may now be ahead of it) and the board
+ * is marked depleted: what remains is still exactly the top, just shorter. A depleted board only accepts
+ * scores that beat its last entry; once it gets shorter than a reader needs it is refilled from a full
+ * rescore with replace().
+ */
+public class TopKLeaderboard {
+
+    // depleted = candidates not on the board may outrank some of the ones that dropped out
+    public record Board(long[] ids, double[] scores, boolean depleted) {
+
+        static final Board EMPTY_DEPLETED = new Board(new long[0], new double[0], true);
+
+        public int size() {
+            return ids.length;
+        }
+
+        int indexOf(long candidateId) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == candidateId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private final int capacity;
+    private final AtomicReference<Board> board;
+
+    // starts empty and depleted, so the first reader fills it
+    public TopKLeaderboard(int capacity) {
+        this.capacity = capacity;
+        this.board = new AtomicReference<>(Board.EMPTY_DEPLETED);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public Board snapshot() {
+        return board.get();
+    }
+
+    // true if this board can serve the top k exactly
+    public boolean canServe(Board snapshot, int k) {
+        return k <= capacity && (snapshot.size() >= k || !snapshot.depleted());
+    }
+
+    /*
+     * Installs the result of a full rescore (best first, at most capacity entries) if the board is still the
+     * one the caller looked at before rescoring; false if a writer changed it meanwhile (the caller's result
+     * may then be missing that write, the board isn't).
+     * The list must be every matching candidate, or at least the best capacity of them.
+     */
+    public boolean replace(Board expected, long[] ids, double[] scores, int count) {
+        int n = Math.min(count, capacity);
+        Board fresh = new Board(Arrays.copyOf(ids, n), Arrays.copyOf(scores, n), false);
+        return board.compareAndSet(expected, fresh);
+    }
+
+    // publishes a candidate's new score; 0 or less means they no longer match
+    public void update(long candidateId, double score) {
+        while (true) {
+            Board current = board.get();
+            Board next = apply(current, candidateId, score);
+            if (next == current || board.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    private Board apply(Board current, long candidateId, double score) {
+        int at = current.indexOf(candidateId);
+        int size = current.size();
+        boolean full = size == capacity;
+        boolean depleted = current.depleted();
+        boolean keep = score > 0;
+
+        if (at < 0) {
+            // not on the board: only interesting if it earns a place
+            if (!keep) {
+                return current;
+            }
+            boolean roomAtTail = !depleted && !full;
+            if (!roomAtTail && (size == 0 || !ahead(score, candidateId, current.scores()[size - 1], current.ids()[size - 1]))) {
+                return current;
+            }
+        } else if (current.scores()[at] == score) {
+            return current;
+        } else if (keep && score < current.scores()[at] && (full || depleted)) {
+            // moving down on a board that doesn't know everyone below it: only safe if it still beats the last entry
+            int last = size - 1;
+            boolean staysAboveTail = at != last && ahead(score, candidateId, current.scores()[last], current.ids()[last]);
+            if (!staysAboveTail) {
+                keep = false;
+                depleted = true;
+            }
+        } else if (!keep && (full || depleted)) {
+            depleted = true;
+        }
+
+        // rebuild: drop the old entry, insert the new one in order, trim to capacity
+        int newSize = size - (at >= 0 ? 1 : 0) + (keep ? 1 : 0);
+        long[] ids = new long[Math.min(newSize, capacity)];
+        double[] scores = new double[ids.length];
+        int out = 0;
+        boolean inserted = !keep;
+        for (int i = 0; i < size && out < ids.length; i++) {
+            if (i == at) {
+                continue;
+            }
+            if (!inserted && ahead(score, candidateId, current.scores()[i], current.ids()[i])) {
+                ids[out] = candidateId;
+                scores[out++] = score;
+                inserted = true;
+                if (out == ids.length) {
+                    break;
+                }
+            }
+            ids[out] = current.ids()[i];
+            scores[out++] = current.scores()[i];
+        }
+        if (!inserted && out < ids.length) {
+            ids[out] = candidateId;
+            scores[out++] = score;
+        }
+        return new Board(ids, scores, depleted);
+    }
+
+    // ordering of the board: higher score first, ties to the lower candidate id
+    private static boolean ahead(double score, long id, double otherScore, long otherId) {
+        return score > otherScore || (score == otherScore && id < otherId);
+    }
+}
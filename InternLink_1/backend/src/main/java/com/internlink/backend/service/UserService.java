@@ -1,11 +1,16 @@
 // UserService.java
 package com.internlink.backend.service;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import com.internlink.backend.dto.SignupRequest;
 import com.internlink.backend.entity.User;
+import com.internlink.backend.exception.ConflictException;
 import com.internlink.backend.repository.UserRepository;
 
 
@@ -23,7 +28,7 @@ import com.internlink.backend.repository.UserRepository;
       /////////
       public User login(String email, String password, String userType) {
         User user = userRepository.findByEmail(email);
-        if (user == null || !passwordEncoder.matches(password, user.getPasswordHash()) || !user.getRole().equalsIgnoreCase(userType)) {
+        if (user == null || !passwordHashingService.matches(password, user.getPasswordHash()) || !user.getRole().equalsIgnoreCase(userType)) {
             throw new IllegalArgumentException("Invalid email, password, or user type");
         }
         return user;
@@ -31,12 +36,20 @@ import com.internlink.backend.repository.UserRepository;
 
 @Service
 public class UserService {
+
+    // the roles anyone can sign up for, as the frontend sends them in userType; "admin" is not in here on purpose,
+    // admins are made out of band (UPDATE users SET role = 'admin' ..., a migration or a seed script)
+    private static final Set<String> SIGNUP_ROLES = Set.of("candidate", "recruiter");
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    private final TokenVersionCache tokenVersionCache;
+
+    public UserService(UserRepository userRepository, PasswordHashingService passwordHashingService, TokenVersionCache tokenVersionCache) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
+        this.tokenVersionCache = tokenVersionCache;
     }
 // the below method is having User , and request like a DataType, well actually its an object, but it can be seen like one
 
@@ -44,25 +57,43 @@ public class UserService {
 //    ------------------------------ SIGNUP METHOD ------------------------------
 
     public User signup(SignupRequest request) {// this is called in AuthController
+        String role = signupRole(request.getUserType()); // before anything else, so "admin" costs neither a query nor a hash
 
-        if (userRepository.findByEmail(request.getEmail()) != null) {
-            throw new IllegalArgumentException("Email already registered");//Exceptions Defined in GlobalExceptionHandler.java
+        // one query for both columns, and before bcrypt so a duplicate doesn't cost a hash
+        // (this used to be findByEmail(...) != null, always true since findByEmail returns an Optional)
+        List<UserRepository.ContactRow> clashes = userRepository.findContactConflicts(request.getEmail(), request.getPhone());
+        if (clashes.stream().anyMatch(row -> row.getEmail().equals(request.getEmail()))) {
+            throw new ConflictException("Email already registered");//Exceptions Defined in GlobalExceptionHandler.java
         }
-        if(userRepository.findByPhone(request.getPhone()) != null) {
-            throw new IllegalArgumentException("Phone number already registered");
+        if (!clashes.isEmpty()) {
+            throw new ConflictException("Phone number already registered");
         }
 
         User user = new User();// creating a new user object to store the data from request
         user.setFullName(request.getFullName());
         user.setEmail(request.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));// hashing the password before saving it to the database
+        user.setPasswordHash(passwordHashingService.encode(request.getPassword()));// hashing the password before saving it to the database
         user.setOrganization(request.getOrganization());
         user.setPhone(request.getPhone());
 
         // Map frontend userType to role
-        user.setRole(request.getUserType().toLowerCase());
+        user.setRole(role);
+
+        // the check above can race with a concurrent signup; the unique constraints are what actually decide
+        try {
+            return userRepository.save(user);// saving the user object to the database and returning the saved user
+        } catch (DataIntegrityViolationException e) {
+            throw ConflictException.from(e);
+        }
+    }
 
-        return userRepository.save(user);// saving the user object to the database and returning the saved user
+    // the role is an authority (ROLE_<role> in JwtAuthenticationFilter), so signup only hands out the self-service ones
+    static String signupRole(String userType) {
+        String role = userType == null ? null : userType.trim().toLowerCase(Locale.ROOT);
+        if (role == null || !SIGNUP_ROLES.contains(role)) {
+            throw new IllegalArgumentException("userType must be candidate or recruiter");
+        }
+        return role;
     }
 //   ------------------------------ LOGIN METHOD ------------------------------
 
@@ -70,7 +101,7 @@ public class UserService {
     public User login(String email, String password, String userType) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User Not Found by Email"));
-        if (user == null || !passwordEncoder.matches(password, user.getPasswordHash())) {
+        if (user == null || !passwordHashingService.matches(password, user.getPasswordHash())) {
             throw new IllegalArgumentException("Invalid email or password");
         }
         if (!user.getRole().equalsIgnoreCase(userType)) {
@@ -88,4 +119,12 @@ public class UserService {
         return userRepository.save(user);
     }
 
+    // "log out everywhere": every token issued before this call stops working (see JwtAuthenticationFilter)
+    public void revokeTokens(String email) {
+        User user = getUserByEmail(email);
+        user.setTokenVersion((user.getTokenVersion() == null ? 0 : user.getTokenVersion()) + 1);
+        userRepository.save(user);
+        tokenVersionCache.invalidate(user.getUserId());
+    }
+
 }
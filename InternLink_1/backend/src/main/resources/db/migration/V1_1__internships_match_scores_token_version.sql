@@ -0,0 +1,59 @@
+-- What the app added on top of the pre-Flyway schema (V1), for baselined databases as much as fresh ones:
+--   internships, internship_skills  the internship catalogue (Internship, skill weights as an element collection)
+--   match_scores                    one row per candidate x internship (MatchScore), with the keyset index of the
+--                                   recruiter listing; new and empty here, so no CONCURRENTLY needed
+--   users.token_version             the "ver" claim of stateless JWTs; existing users start at 0 (a constant
+--                                   default is metadata-only, no table rewrite)
+--   candidate_education / candidate_preferences.candidate_id unique: the children became one-to-one. Before that
+--                                   they were @Transient and never written, so on a baselined database these
+--                                   tables are empty and the keys can't fail.
+--
+-- The email/phone unique indexes come later (V2_1 checks for duplicates, V3 builds them concurrently).
+
+create table internships (
+    created_at timestamp(6),
+    internship_id bigint generated by default as identity,
+    recruiter_id bigint,
+    status varchar(20),
+    description TEXT,
+    domain varchar(255),
+    location varchar(255),
+    title varchar(255) not null,
+    primary key (internship_id)
+);
+
+create table internship_skills (
+    weight float(53),
+    internship_id bigint not null,
+    skill_name varchar(255) not null,
+    primary key (internship_id, skill_name)
+);
+
+create table match_scores (
+    score float(53) not null,
+    candidate_id bigint not null,
+    computed_at timestamp(6),
+    internship_id bigint not null,
+    match_id bigint generated by default as identity,
+    primary key (match_id),
+    constraint uk_match_scores_candidate_internship unique (candidate_id, internship_id)
+);
+
+create index idx_match_scores_internship_score
+   on match_scores (internship_id, score desc, candidate_id desc);
+
+alter table if exists internship_skills
+   add constraint FKkly97j62ls0tknh9nic506b7a
+   foreign key (internship_id)
+   references internships;
+
+alter table if exists internships
+   add constraint FK50rljlm3mgo6tsyu4eqjiwc6m
+   foreign key (recruiter_id)
+   references users;
+
+alter table users add column token_version integer not null default 0;
+
+alter table candidate_education add unique (candidate_id);
+
+alter table candidate_preferences add unique (candidate_id);
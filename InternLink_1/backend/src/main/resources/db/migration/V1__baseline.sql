@@ -0,0 +1,71 @@
+-- Baseline: the schema as spring.jpa.hibernate.ddl-auto=update left it before Flyway, i.e. generated from the entities
+-- at that point (users and candidate_*, identity ids, the children still many-to-one, email's unique constraint under
+-- Postgres' own name). Databases that existed before Flyway are baselined at this version instead of running it
+-- (spring.flyway.baseline-on-migrate), fresh ones start here. Everything added since is in the later versions, so
+-- keep this file what those databases actually have: MigrationTest migrates a database built from it.
+
+create table candidate_education (
+    candidate_id bigint,
+    education_id bigint generated by default as identity,
+    graduation_year varchar(255),
+    institution varchar(255),
+    level varchar(255),
+    primary key (education_id)
+);
+
+create table candidate_preferences (
+    candidate_id bigint,
+    preference_id bigint generated by default as identity,
+    preferred_domain varchar(255),
+    preferred_location varchar(255),
+    primary key (preference_id)
+);
+
+create table candidate_profiles (
+    candidate_id bigint generated by default as identity,
+    user_id bigint not null,
+    category varchar(255),
+    city varchar(255),
+    gender varchar(255),
+    state varchar(255),
+    primary key (candidate_id)
+);
+
+create table candidate_skills (
+    candidate_id bigint,
+    skill_id bigint generated by default as identity,
+    skill_name varchar(255),
+    primary key (skill_id)
+);
+
+create table users (
+    created_at timestamp(6),
+    user_id bigint generated by default as identity,
+    phone varchar(20),
+    email varchar(255) not null unique,
+    full_name varchar(255) not null,
+    organization varchar(255),
+    password_hash varchar(255) not null,
+    role varchar(255) not null,
+    primary key (user_id)
+);
+
+alter table if exists candidate_education
+   add constraint FK1vbwts7ul164xuq38ik6l3eh4
+   foreign key (candidate_id)
+   references candidate_profiles;
+
+alter table if exists candidate_preferences
+   add constraint FKdjo1u1ew1j449u2l54fsu3570
+   foreign key (candidate_id)
+   references candidate_profiles;
+
+alter table if exists candidate_profiles
+   add constraint FKn7b2se0y378uox9e3aw2bjg13
+   foreign key (user_id)
+   references users;
+
+alter table if exists candidate_skills
+   add constraint FK13xo0mq175kdpsauy73xhhol2
+   foreign key (candidate_id)
+   references candidate_profiles;
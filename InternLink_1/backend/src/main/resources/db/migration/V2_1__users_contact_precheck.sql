@@ -0,0 +1,39 @@
+-- Runs right before V3, which builds uk_users_email / uk_users_phone with CREATE UNIQUE INDEX CONCURRENTLY.
+--
+-- A concurrent unique build over duplicate values fails halfway and leaves an INVALID index of that name behind:
+-- it isn't used by queries but still has to be maintained, and after a flyway repair the IF NOT EXISTS in V3 would
+-- skip it, so uniqueness would silently stay unenforced. Hence:
+--   1. duplicates stop the migration here, before anything is built (the HINT has the query that lists them);
+--      merge or delete those users, then migrate again
+--   2. an invalid uk_users_email / uk_users_phone left by an earlier failed V3 is dropped so V3 builds it again
+--      (plain DROP INDEX, CONCURRENTLY can't run in a DO block; an invalid index is cheap to drop)
+--
+-- Kept separate from V3: Flyway won't mix these with the CONCURRENTLY statements, which run outside a transaction.
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM users GROUP BY email HAVING count(*) > 1) THEN
+        RAISE EXCEPTION 'users has duplicate emails, uk_users_email (V3) cannot be built; merge or delete them first'
+            USING HINT = 'SELECT email, count(*) FROM users GROUP BY email HAVING count(*) > 1';
+    END IF;
+    IF EXISTS (SELECT 1 FROM users WHERE phone IS NOT NULL GROUP BY phone HAVING count(*) > 1) THEN
+        RAISE EXCEPTION 'users has duplicate phone numbers, uk_users_phone (V3) cannot be built; merge or delete them first'
+            USING HINT = 'SELECT phone, count(*) FROM users WHERE phone IS NOT NULL GROUP BY phone HAVING count(*) > 1';
+    END IF;
+END $$;
+
+DO $$
+DECLARE
+    invalid regclass;
+BEGIN
+    FOR invalid IN
+        SELECT i.indexrelid::regclass
+        FROM pg_index i
+        JOIN pg_class c ON c.oid = i.indexrelid
+        WHERE c.relname IN ('uk_users_email', 'uk_users_phone')
+          AND i.indrelid = 'users'::regclass
+          AND NOT i.indisvalid
+    LOOP
+        EXECUTE format('DROP INDEX %s', invalid);
+    END LOOP;
+END $$;
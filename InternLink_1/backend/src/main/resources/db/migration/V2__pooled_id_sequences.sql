@@ -0,0 +1,39 @@
+-- IDENTITY -> pooled sequences for users and the candidate_* tables (Postgres).
+--
+-- The entities map these ids with @SequenceGenerator(allocationSize = 50). Written to be safe to run again:
+-- before Flyway this was a script run by hand (db/scripts/pooled-id-sequences.sql), some databases already have it.
+--
+-- Hibernate's pooled optimizer reads a sequence value v as the block v-49..v, so each sequence is set to return
+-- max(id) + 50 next: the first block starts right after the existing rows. The identity / serial defaults are
+-- dropped so nothing hands out ids outside those blocks (CandidateImportWriter takes its ids from the same
+-- sequences). match_scores and internships keep their identity columns.
+
+ALTER TABLE users ALTER COLUMN user_id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN user_id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+ALTER SEQUENCE users_seq INCREMENT BY 50;
+SELECT setval('users_seq', COALESCE((SELECT MAX(user_id) FROM users), 0) + 50, false);
+
+ALTER TABLE candidate_profiles ALTER COLUMN candidate_id DROP IDENTITY IF EXISTS;
+ALTER TABLE candidate_profiles ALTER COLUMN candidate_id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS candidate_profiles_seq INCREMENT BY 50;
+ALTER SEQUENCE candidate_profiles_seq INCREMENT BY 50;
+SELECT setval('candidate_profiles_seq', COALESCE((SELECT MAX(candidate_id) FROM candidate_profiles), 0) + 50, false);
+
+ALTER TABLE candidate_skills ALTER COLUMN skill_id DROP IDENTITY IF EXISTS;
+ALTER TABLE candidate_skills ALTER COLUMN skill_id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS candidate_skills_seq INCREMENT BY 50;
+ALTER SEQUENCE candidate_skills_seq INCREMENT BY 50;
+SELECT setval('candidate_skills_seq', COALESCE((SELECT MAX(skill_id) FROM candidate_skills), 0) + 50, false);
+
+ALTER TABLE candidate_education ALTER COLUMN education_id DROP IDENTITY IF EXISTS;
+ALTER TABLE candidate_education ALTER COLUMN education_id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS candidate_education_seq INCREMENT BY 50;
+ALTER SEQUENCE candidate_education_seq INCREMENT BY 50;
+SELECT setval('candidate_education_seq', COALESCE((SELECT MAX(education_id) FROM candidate_education), 0) + 50, false);
+
+ALTER TABLE candidate_preferences ALTER COLUMN preference_id DROP IDENTITY IF EXISTS;
+ALTER TABLE candidate_preferences ALTER COLUMN preference_id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS candidate_preferences_seq INCREMENT BY 50;
+ALTER SEQUENCE candidate_preferences_seq INCREMENT BY 50;
+SELECT setval('candidate_preferences_seq', COALESCE((SELECT MAX(preference_id) FROM candidate_preferences), 0) + 50, false);
@@ -0,0 +1,22 @@
+-- uk_users_email (V3) now keeps emails unique, so the constraint ddl-auto put on users.email before Flyway is a second
+-- index doing the same job on every write. Its name depends on the Hibernate version that created it (users_email_key
+-- from an inline unique, UK_... from older ones), so it's looked up: any single-column unique constraint on email
+-- other than uk_users_email. Separate from V3 because Flyway won't mix it with V3's non-transactional statements.
+
+DO $$
+DECLARE
+    generated name;
+BEGIN
+    FOR generated IN
+        SELECT con.conname
+        FROM pg_constraint con
+        JOIN pg_attribute att ON att.attrelid = con.conrelid AND att.attnum = con.conkey[1]
+        WHERE con.conrelid = 'users'::regclass
+          AND con.contype = 'u'
+          AND cardinality(con.conkey) = 1
+          AND att.attname = 'email'
+          AND con.conname <> 'uk_users_email'
+    LOOP
+        EXECUTE format('ALTER TABLE users DROP CONSTRAINT %I', generated);
+    END LOOP;
+END $$;
@@ -0,0 +1,19 @@
+-- Indexes for the lookups the request paths make (RepositoryQueryPlanTest checks they are used):
+--   candidate_profiles.user_id    profile by user id / email (CandidateProfileRepository.find*ByUser*, MatchScoreReader join)
+--   candidate_skills.candidate_id skills of a profile (aggregate fetch, recruiter listings), skill_name so the
+--                                 per-candidate skill list comes out of the index already sorted
+--
+-- uk_users_email / uk_users_phone: the named unique indexes signup and ConflictException rely on. Before Flyway
+-- email only had the unique constraint ddl-auto gave it (V1), V3_1 drops that one once this exists. A failed unique
+-- build would leave an INVALID index that IF NOT EXISTS then skips for good, so V2_1 runs first: it stops on
+-- duplicate emails/phones with a clear error and drops an invalid uk_users_* left by an earlier attempt.
+--
+-- CONCURRENTLY so writes keep going while the indexes build; Flyway runs these statements outside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_candidate_profiles_user ON candidate_profiles (user_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_candidate_skills_candidate_skill ON candidate_skills (candidate_id, skill_name);
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_users_email ON users (email);
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_users_phone ON users (phone);
@@ -0,0 +1,5 @@
+-- Optimistic version of a candidate profile (CandidateProfile.version): bumped by every write to the profile or its
+-- education / preferences / skills, compared on If-Match and served as the ETag of GET /api/candidate/profile.
+-- Existing rows start at 0. A constant default is metadata-only in Postgres, no table rewrite.
+
+ALTER TABLE candidate_profiles ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
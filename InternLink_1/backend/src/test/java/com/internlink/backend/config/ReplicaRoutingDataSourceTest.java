@@ -0,0 +1,154 @@
+package com.internlink.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.internlink.backend.config.ReplicaRoutingDataSource.Route;
+import com.internlink.backend.entity.User;
+
+// stand-in data sources instead of two Postgres instances: only which pool hands out the connection matters here
+class ReplicaRoutingDataSourceTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(5_000, 1_000, nanos::get);
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = stubDataSource();
+        replica = stubDataSource();
+        routing = new ReplicaRoutingDataSource(primary, replica, tracker);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    private static DataSource stubDataSource() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        return dataSource;
+    }
+
+    private static void loginAs(long userId) {
+        User user = new User();
+        user.setUserId(userId);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    private static void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.afterCommit());
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertEquals(Route.PRIMARY, routing.route()); // no transaction: can't tell a read from a write
+
+        beginTransaction(true);
+        assertEquals(Route.REPLICA, routing.route());
+        commit();
+
+        beginTransaction(false);
+        assertEquals(Route.PRIMARY, routing.route());
+    }
+
+    @Test
+    void writerReadsFromThePrimaryUntilTheWindowPasses() {
+        loginAs(7);
+        beginTransaction(false);
+        assertEquals(Route.PRIMARY, routing.route());
+        assertFalse(tracker.recentlyWrote(7L)); // only counts once committed
+        commit();
+
+        beginTransaction(true);
+        assertEquals(Route.PRIMARY, routing.route());
+        commit();
+
+        loginAs(8); // somebody else is not affected
+        beginTransaction(true);
+        assertEquals(Route.REPLICA, routing.route());
+        commit();
+
+        loginAs(7);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        beginTransaction(true);
+        assertEquals(Route.REPLICA, routing.route());
+    }
+
+    @Test
+    void onPrimaryWinsOverReadOnly() {
+        beginTransaction(true);
+        assertEquals(Route.PRIMARY, ReplicaRoutingDataSource.onPrimary(() ->
+                ReplicaRoutingDataSource.onPrimary(() -> routing.route())));
+        assertEquals(Route.REPLICA, routing.route()); // cleared again after the outermost call
+    }
+
+    @Test
+    void zeroWindowDisablesReadYourWrites() {
+        ReadYourWritesTracker off = new ReadYourWritesTracker(0, 1_000, nanos::get);
+        off.recordWrite(7L);
+        assertFalse(off.recentlyWrote(7L));
+    }
+
+    // the real wiring: the transaction manager opens its connection before the read-only flag is bound,
+    // the lazy proxy has to delay the actual checkout until the first statement
+    @Test
+    void lazyProxyRoutesReadOnlyTransactionThroughTheManager() throws SQLException {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(routing);
+        // otherwise the proxy borrows one (primary) connection up front to read these defaults
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        clearInvocations(primary, replica);
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(proxy));
+        readOnly.setReadOnly(true);
+
+        readOnly.executeWithoutResult(status -> {
+            try {
+                DataSourceUtils.getConnection(proxy).createStatement();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        verify(replica).getConnection();
+        verify(primary, never()).getConnection();
+    }
+}
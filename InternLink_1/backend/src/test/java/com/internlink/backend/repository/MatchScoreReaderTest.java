@@ -0,0 +1,23 @@
+package com.internlink.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class MatchScoreReaderTest {
+
+    @Test
+    void cursorRoundTripsTheExactScore() {
+        double score = 0.1 + 0.2; // not representable in a short decimal, must survive bit for bit
+        MatchScoreReader.Cursor cursor = MatchScoreReader.Cursor.decode(new MatchScoreReader.Cursor(score, 42L).encode());
+
+        assertEquals(score, cursor.score());
+        assertEquals(42L, cursor.candidateId());
+    }
+
+    @Test
+    void garbageCursorIsABadRequest() {
+        assertThrows(IllegalArgumentException.class, () -> MatchScoreReader.Cursor.decode("not-a-cursor"));
+    }
+}
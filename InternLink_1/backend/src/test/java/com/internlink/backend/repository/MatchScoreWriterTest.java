@@ -0,0 +1,92 @@
+package com.internlink.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.internlink.backend.entity.MatchScore;
+import com.internlink.backend.service.MatchingEngine.CandidateRescore;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+// both writers against real Postgres (embedded, no Docker): an internship never keeps more than topK rows
+class MatchScoreWriterTest {
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbc;
+
+    private final MatchScoreWriter writer = new MatchScoreWriter(jdbc, 3);
+
+    @BeforeAll
+    static void start() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+        jdbc = new JdbcTemplate(postgres.getPostgresDatabase());
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void clear() {
+        jdbc.update("DELETE FROM match_scores");
+    }
+
+    private List<Long> stored(long internshipId) {
+        return jdbc.queryForList("SELECT candidate_id FROM match_scores WHERE internship_id = ? "
+                + "ORDER BY score DESC, candidate_id DESC", Long.class, internshipId);
+    }
+
+    private static CandidateRescore rescore(long candidateId, long internshipId, double score) {
+        List<MatchScore> scores = score > 0 ? List.of(new MatchScore(candidateId, internshipId, score)) : List.of();
+        return new CandidateRescore(candidateId, Set.of(internshipId), scores, List.of());
+    }
+
+    @Test
+    void deltasKeepTheTopK() {
+        writer.replaceForInternships(Map.of(1L, List.of(
+                new MatchScore(10L, 1L, 0.9), new MatchScore(11L, 1L, 0.6), new MatchScore(12L, 1L, 0.3))));
+
+        // one candidate into the top pushes the last one out, one below the top isn't kept at all
+        writer.applyCandidateDeltas(List.of(rescore(20L, 1L, 0.7), rescore(21L, 1L, 0.1)));
+        assertEquals(List.of(10L, 20L, 11L), stored(1L));
+
+        // ties are broken by candidate_id like the listing does
+        writer.applyCandidateDeltas(List.of(rescore(5L, 1L, 0.6)));
+        assertEquals(List.of(10L, 20L, 11L), stored(1L));
+        writer.applyCandidateDeltas(List.of(rescore(15L, 1L, 0.6)));
+        assertEquals(List.of(10L, 20L, 15L), stored(1L));
+
+        // a stored candidate dropping out leaves the internship short until the next rematch
+        writer.applyCandidateDeltas(List.of(rescore(10L, 1L, 0)));
+        assertEquals(List.of(20L, 15L), stored(1L));
+    }
+
+    @Test
+    void otherInternshipsAreLeftAlone() {
+        writer.replaceForInternships(Map.of(
+                1L, List.of(new MatchScore(10L, 1L, 0.9), new MatchScore(11L, 1L, 0.8), new MatchScore(12L, 1L, 0.7)),
+                2L, List.of(new MatchScore(10L, 2L, 0.5))));
+
+        writer.applyCandidateDeltas(List.of(rescore(30L, 2L, 0.4)));
+
+        assertEquals(List.of(10L, 11L, 12L), stored(1L));
+        assertEquals(List.of(10L, 30L), stored(2L));
+    }
+}
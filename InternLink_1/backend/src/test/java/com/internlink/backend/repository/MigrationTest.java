@@ -0,0 +1,147 @@
+package com.internlink.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/*
+ * The Flyway migrations against a real Postgres (embedded binaries, so no Docker): a fresh database, and one from
+ * before Flyway, i.e. V1's schema with rows in it and no flyway_schema_history, baselined at V1 the way
+ * application.properties does it. Both have to end up with a schema Hibernate validates the entities against.
+ */
+class MigrationTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @BeforeAll
+    static void start() throws IOException {
+        postgres = EmbeddedPostgres.start();
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    // a new, empty database on the shared server
+    private static DataSource database(String name) {
+        new JdbcTemplate(postgres.getPostgresDatabase()).execute("CREATE DATABASE " + name);
+        return postgres.getDatabase("postgres", name);
+    }
+
+    // what ddl-auto=update left behind: the V1 schema, created without Flyway
+    private static JdbcTemplate preFlyway(DataSource dataSource) {
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline.sql")).execute(dataSource);
+        return new JdbcTemplate(dataSource);
+    }
+
+    // same settings as application.properties
+    private static Flyway flyway(DataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load();
+    }
+
+    // ddl-auto=validate, i.e. what the app does at startup; throws on a missing table / column or a wrong type
+    private static void validate(DataSource dataSource) {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("com.internlink.backend.entity");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "validate",
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                "hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName()));
+        factory.afterPropertiesSet();
+        factory.destroy();
+    }
+
+    private static List<String> uniqueIndexesOn(JdbcTemplate jdbc, String column) {
+        return jdbc.queryForList("SELECT i.relname FROM pg_index x "
+                + "JOIN pg_class i ON i.oid = x.indexrelid "
+                + "JOIN pg_attribute a ON a.attrelid = x.indrelid AND a.attnum = x.indkey[0] "
+                + "WHERE x.indrelid = 'users'::regclass AND x.indisunique AND x.indnatts = 1 AND a.attname = ? "
+                + "ORDER BY 1", String.class, column);
+    }
+
+    @Test
+    void freshDatabaseMigratesToTheMappedSchema() {
+        DataSource dataSource = database("fresh");
+
+        flyway(dataSource).migrate();
+
+        validate(dataSource);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        assertEquals(List.of("uk_users_email"), uniqueIndexesOn(jdbc, "email"));
+        assertEquals(List.of("uk_users_phone"), uniqueIndexesOn(jdbc, "phone"));
+    }
+
+    @Test
+    void databaseFromBeforeFlywayIsBaselinedAndMigrated() {
+        DataSource dataSource = database("legacy");
+        JdbcTemplate jdbc = preFlyway(dataSource);
+        jdbc.update("INSERT INTO users (full_name, email, password_hash, phone, role, created_at) "
+                + "VALUES ('Asha Rao', 'asha@example.com', 'x', '9000000001', 'candidate', now())");
+        jdbc.update("INSERT INTO candidate_profiles (user_id, city) "
+                + "SELECT user_id, 'Pune' FROM users WHERE email = 'asha@example.com'");
+        jdbc.update("INSERT INTO candidate_skills (candidate_id, skill_name) SELECT candidate_id, 'Java' FROM candidate_profiles");
+
+        flyway(dataSource).migrate();
+
+        // V1 was not run on it (it would have failed on the existing tables), everything after was
+        assertEquals("BASELINE", jdbc.queryForObject(
+                "SELECT type FROM flyway_schema_history WHERE version = '1'", String.class));
+        validate(dataSource);
+
+        // the old rows survive, with what the migrations added filled in
+        assertEquals(0, jdbc.queryForObject(
+                "SELECT token_version FROM users WHERE email = 'asha@example.com'", Integer.class));
+        assertEquals(0L, jdbc.queryForObject("SELECT version FROM candidate_profiles", Long.class));
+        assertEquals(List.of("uk_users_email"), uniqueIndexesOn(jdbc, "email")); // ddl-auto's own constraint dropped
+        assertTrue(jdbc.queryForObject("SELECT nextval('users_seq') - 49 > MAX(user_id) FROM users", Boolean.class),
+                "pooled ids start after the existing rows");
+        assertThrows(DuplicateKeyException.class, () -> jdbc.update(
+                "INSERT INTO users (user_id, full_name, email, password_hash, role) "
+                        + "VALUES (nextval('users_seq'), 'Copy', 'asha@example.com', 'x', 'candidate')"));
+    }
+
+    @Test
+    void duplicatePhonesStopTheMigrationBeforeTheUniqueIndexes() {
+        DataSource dataSource = database("duplicates");
+        JdbcTemplate jdbc = preFlyway(dataSource);
+        jdbc.update("INSERT INTO users (full_name, email, password_hash, phone, role) VALUES "
+                + "('A', 'a@example.com', 'x', '9000000001', 'candidate'), "
+                + "('B', 'b@example.com', 'x', '9000000001', 'candidate')");
+
+        FlywayException failure = assertThrows(FlywayException.class, () -> flyway(dataSource).migrate());
+
+        assertTrue(failure.getMessage().contains("duplicate phone numbers"), failure.getMessage());
+        assertEquals(List.of(), uniqueIndexesOn(jdbc, "phone")); // no INVALID uk_users_phone left behind
+    }
+}
@@ -0,0 +1,193 @@
+package com.internlink.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * Query plan regression suite: the schema comes from the Flyway migrations, the tables get enough rows for the
+ * planner to care, and every hot query is EXPLAINed with real parameters. A Seq Scan anywhere in the plan fails
+ * the test, which is what a dropped or never-created index looks like.
+ *
+ * The repository queries are the SQL Hibernate actually generates (captured by a StatementInspector while
+ * calling the repository method), MatchScoreReader's are its own SQL. Deliberate full scans (the matching
+ * index's streamAllSkillRows, findByStatus over mostly open internships) are not in here.
+ *
+ * Needs Docker for the Postgres container, skipped without it.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(RepositoryQueryPlanTest.CaptureSql.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the seed data has to be committed for ANALYZE
+class RepositoryQueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static final List<String> CAPTURED = new CopyOnWriteArrayList<>();
+    private static boolean seeded;
+
+    @TestConfiguration
+    static class CaptureSql {
+        @Bean
+        HibernatePropertiesCustomizer captureSql() {
+            StatementInspector inspector = sql -> {
+                CAPTURED.add(sql);
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CandidateProfileRepository candidateProfileRepository;
+
+    @Autowired
+    private MatchScoreRepository matchScoreRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 20k candidates with a profile, education, preferences and 5 skills each, 10 internships x 20k match scores
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        jdbc.execute("INSERT INTO users (user_id, full_name, email, password_hash, phone, role, created_at, token_version) "
+                + "SELECT g, 'User ' || g, 'user' || g || '@example.com', 'x', lpad(g::text, 10, '9'), 'candidate', now(), 0 "
+                + "FROM generate_series(1, 20000) g");
+        jdbc.execute("INSERT INTO candidate_profiles (candidate_id, user_id, city, state) "
+                + "SELECT g, g, 'City ' || (g % 50), 'State ' || (g % 10) FROM generate_series(1, 20000) g");
+        jdbc.execute("INSERT INTO candidate_education (education_id, candidate_id, level) "
+                + "SELECT g, g, 'UG' FROM generate_series(1, 20000) g");
+        jdbc.execute("INSERT INTO candidate_preferences (preference_id, candidate_id, preferred_domain) "
+                + "SELECT g, g, 'Software' FROM generate_series(1, 20000) g");
+        jdbc.execute("INSERT INTO candidate_skills (skill_id, candidate_id, skill_name) "
+                + "SELECT g, (g % 20000) + 1, 'skill-' || (g % 300) FROM generate_series(1, 100000) g");
+        jdbc.execute("INSERT INTO internships (internship_id, title, status, created_at) "
+                + "SELECT g, 'Internship ' || g, 'open', now() FROM generate_series(1, 10) g");
+        jdbc.execute("INSERT INTO match_scores (candidate_id, internship_id, score, computed_at) "
+                + "SELECT (g % 20000) + 1, (g / 20000) + 1, random(), now() FROM generate_series(0, 199999) g");
+        jdbc.execute("ANALYZE");
+        seeded = true;
+    }
+
+    // the SQL Hibernate ran for the call, the first SELECT of it
+    private String capture(Runnable call) {
+        CAPTURED.clear();
+        call.run();
+        return CAPTURED.stream()
+                .filter(sql -> sql.stripLeading().toLowerCase().startsWith("select"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no SELECT captured, got " + CAPTURED));
+    }
+
+    private void assertUsesIndexes(String sql, Object... args) throws Exception {
+        String json = jdbc.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, args);
+        JsonNode plan = objectMapper.readTree(json).get(0).get("Plan");
+        List<String> seqScans = new ArrayList<>();
+        collectSeqScans(plan, seqScans);
+        assertTrue(seqScans.isEmpty(), "sequential scan on " + seqScans + " for\n" + sql + "\nplan:\n"
+                + objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(plan));
+    }
+
+    private static void collectSeqScans(JsonNode node, List<String> seqScans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            seqScans.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, seqScans);
+        }
+    }
+
+    @Test
+    void userByEmail() throws Exception {
+        String sql = capture(() -> userRepository.findByEmail("user123@example.com"));
+        assertUsesIndexes(sql, "user123@example.com");
+    }
+
+    @Test
+    void signupContactConflicts() throws Exception {
+        String sql = capture(() -> userRepository.findContactConflicts("user5@example.com", "9999999123"));
+        assertUsesIndexes(sql, "user5@example.com", "9999999123");
+    }
+
+    @Test
+    void tokenVersion() throws Exception {
+        String sql = capture(() -> userRepository.findTokenVersionByUserId(42L));
+        assertUsesIndexes(sql, 42L);
+    }
+
+    @Test
+    void profileAggregateByUserId() throws Exception {
+        String sql = capture(() -> candidateProfileRepository.findAggregateByUserUserId(77L));
+        assertUsesIndexes(sql, 77L);
+    }
+
+    @Test
+    void profileAggregateByEmail() throws Exception {
+        String sql = capture(() -> candidateProfileRepository.findAggregateByUserEmail("user77@example.com"));
+        assertUsesIndexes(sql, "user77@example.com");
+    }
+
+    @Test
+    void profileVersionByEmail() throws Exception {
+        String sql = capture(() -> candidateProfileRepository.findVersionByUserEmail("user77@example.com"));
+        assertUsesIndexes(sql, "user77@example.com");
+    }
+
+    @Test
+    void profileAggregatesByCandidateIds() throws Exception {
+        String sql = capture(() -> candidateProfileRepository.findAggregatesByCandidateIdIn(List.of(1L, 2L, 3L)));
+        assertUsesIndexes(sql, 1L, 2L, 3L);
+    }
+
+    @Test
+    void matchScoresOfCandidate() throws Exception {
+        String sql = capture(() -> matchScoreRepository.findByCandidateId(500L));
+        assertUsesIndexes(sql, 500L);
+    }
+
+    @Test
+    void recruiterCandidatePages() throws Exception {
+        assertUsesIndexes(MatchScoreReader.FIRST_PAGE, 1L, 51);
+        assertUsesIndexes(MatchScoreReader.NEXT_PAGE, 1L, 0.5, 10_000L, 51);
+    }
+
+    @Test
+    void trimToTopK() throws Exception {
+        assertUsesIndexes(MatchScoreWriter.TRIM, 1L, 1L, 499);
+    }
+}
@@ -0,0 +1,59 @@
+package com.internlink.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+class CallerRunsCacheTest {
+
+    @Test
+    void concurrentMissesLoadOnceOnVirtualThreads() throws Exception {
+        CallerRunsCache<String, Integer> cache = new CallerRunsCache<>(Caffeine.newBuilder().maximumSize(10));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger sum = new AtomicInteger();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            threads.add(Thread.ofVirtual().start(() -> sum.addAndGet(cache.get("k", k -> {
+                loads.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return 7;
+            }))));
+        }
+        Thread.sleep(50);
+        release.countDown();
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(50 * 7, sum.get());
+    }
+
+    @Test
+    void nullsAndFailuresAreNotCached() {
+        CallerRunsCache<String, Integer> cache = new CallerRunsCache<>(Caffeine.newBuilder().maximumSize(10));
+
+        assertNull(cache.get("missing", k -> null));
+        assertEquals(1, cache.get("missing", k -> 1));
+
+        assertThrows(IllegalStateException.class, () -> cache.get("boom", k -> {
+            throw new IllegalStateException("db down");
+        }));
+        assertEquals(2, cache.get("boom", k -> 2));
+    }
+}
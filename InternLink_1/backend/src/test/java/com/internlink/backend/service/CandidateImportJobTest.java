@@ -0,0 +1,75 @@
+package com.internlink.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.internlink.backend.repository.CandidateImportWriter;
+import com.internlink.backend.repository.CandidateImportWriter.TakenContacts;
+
+class CandidateImportJobTest {
+
+    @Test
+    void reportsPerRowErrorsAndImportsTheRest() throws Exception {
+        CandidateImportWriter writer = mock(CandidateImportWriter.class);
+        PasswordHashingService hashing = mock(PasswordHashingService.class);
+        when(hashing.encoder()).thenReturn(new BCryptPasswordEncoder(4));
+        when(writer.findTaken(anyCollection(), anyCollection()))
+                .thenReturn(new TakenContacts(Set.of("taken@uni.edu"), Set.of()));
+        // the chunk insert races with a signup for racer@uni.edu; row by row only that one fails
+        when(writer.insert(any())).thenAnswer(invocation -> {
+            List<CandidateImportWriter.ImportedCandidate> rows = invocation.getArgument(0);
+            if (rows.stream().anyMatch(r -> r.row().getEmail().equals("racer@uni.edu"))) {
+                throw new DataIntegrityViolationException("duplicate",
+                        new ConstraintViolationException("duplicate key", new SQLException(), "uk_users_email"));
+            }
+            return rows.size();
+        });
+
+        Path file = Files.createTempFile("import-test", ".csv");
+        Files.writeString(file, "fullName,email,password\n"
+                + "A,a@uni.edu,pw\n"
+                + "B,taken@uni.edu,pw\n"
+                + "C,a@uni.edu,pw\n"
+                + "D,racer@uni.edu,pw\n"
+                + ",nameless@uni.edu,pw\n"
+                + "E,e@uni.edu,pw\n");
+
+        CandidateImportJob job = new CandidateImportJob(writer, hashing, new ObjectMapper(), 500, 2, 100);
+        try {
+            assertTrue(job.start(file, CandidateImportJob.Format.CSV));
+            while (job.progress().running()) {
+                Thread.sleep(10);
+            }
+
+            CandidateImportJob.Progress progress = job.progress();
+            assertEquals(6, progress.rowsRead());
+            assertEquals(2, progress.imported());
+            assertEquals(4, progress.failed());
+            assertEquals(List.of(
+                    new CandidateImportJob.RowError(3, "taken@uni.edu", "Email already registered"),
+                    new CandidateImportJob.RowError(4, "a@uni.edu", "Duplicate email in file"),
+                    new CandidateImportJob.RowError(5, "racer@uni.edu", "Email already registered"),
+                    new CandidateImportJob.RowError(6, "nameless@uni.edu", "fullName is required")),
+                    progress.errors().stream().sorted((x, y) -> Long.compare(x.line(), y.line())).toList());
+            assertTrue(Files.notExists(file));
+        } finally {
+            job.shutdown();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.internlink.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class CandidateImportReaderTest {
+
+    @Test
+    void csvMatchesColumnsByNameAndHandlesQuotes() throws IOException {
+        String csv = "Full_Name,email,password,unknown,organization\r\n"
+                + "\"Doe, Jane\",jane@uni.edu,pw1,x,\"Uni \"\"A\"\"\"\n"
+                + "\n"
+                + "\"Multi\nLine\",ml@uni.edu,pw2\n";
+        try (CandidateImportReader reader = CandidateImportReader.csv(new StringReader(csv))) {
+            CandidateImportReader.Parsed first = reader.next();
+            assertEquals(2, first.line());
+            assertEquals("Doe, Jane", first.row().getFullName());
+            assertEquals("jane@uni.edu", first.row().getEmail());
+            assertEquals("Uni \"A\"", first.row().getOrganization());
+
+            CandidateImportReader.Parsed second = reader.next();
+            assertEquals(4, second.line());
+            assertEquals("Multi\nLine", second.row().getFullName());
+            assertNull(second.row().getOrganization());
+
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void badNdjsonLineIsReportedAndReadingContinues() throws IOException {
+        String ndjson = "{\"fullName\":\"A\",\"email\":\"a@uni.edu\",\"password\":\"pw\",\"extra\":1}\n"
+                + "{not json\n"
+                + "\n"
+                + "{\"fullName\":\"B\",\"email\":\"b@uni.edu\",\"password\":\"pw\"}";
+        try (CandidateImportReader reader = CandidateImportReader.ndjson(new StringReader(ndjson), new ObjectMapper())) {
+            assertEquals("a@uni.edu", reader.next().row().getEmail());
+
+            CandidateImportReader.Parsed bad = reader.next();
+            assertEquals(2, bad.line());
+            assertNull(bad.row());
+            assertNotNull(bad.error());
+
+            CandidateImportReader.Parsed last = reader.next();
+            assertEquals(4, last.line());
+            assertEquals("b@uni.edu", last.row().getEmail());
+            assertNull(reader.next());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.internlink.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.internlink.backend.config.ReadYourWritesTracker;
+import com.internlink.backend.entity.CandidateEducation;
+import com.internlink.backend.entity.CandidatePreference;
+import com.internlink.backend.entity.CandidateProfile;
+import com.internlink.backend.entity.CandidateSkill;
+import com.internlink.backend.entity.User;
+import com.internlink.backend.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/*
+ * Statement count of a full profile save on H2 with the production batching settings. With IDENTITY keys every
+ * skill was its own INSERT (a 20-skill profile: 25+ statements); with pooled sequences and batching the count
+ * does not depend on the number of skills.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false", // the migrations are Postgres SQL
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({CandidateService.class, CandidateProfileCache.class, ReadYourWritesTracker.class, SkillVocabulary.class,
+        CandidateProfileBatchingTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // let the service commit (and flush) on its own
+class CandidateProfileBatchingTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private CandidateService candidateService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User candidate(String email) {
+        User user = new User();
+        user.setFullName("Test Candidate");
+        user.setEmail(email);
+        user.setPasswordHash("x");
+        user.setRole("candidate");
+        return userRepository.save(user);
+    }
+
+    private static CandidateProfile profile(int skills) {
+        CandidateProfile profile = new CandidateProfile();
+        profile.setCity("Pune");
+        CandidateEducation education = new CandidateEducation();
+        education.setLevel("UG");
+        profile.setEducation(education);
+        CandidatePreference preferences = new CandidatePreference();
+        preferences.setPreferredDomain("Software");
+        profile.setPreferences(preferences);
+        List<CandidateSkill> list = new ArrayList<>();
+        for (int i = 0; i < skills; i++) {
+            list.add(new CandidateSkill("skill-" + i));
+        }
+        profile.setSkills(list);
+        return profile;
+    }
+
+    private long statementsFor(String email, int skills) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        candidateService.saveOrUpdateProfile(email, profile(skills));
+        assertEquals(3 + skills, statistics.getEntityInsertCount());
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void fullProfileSaveIsBatched() {
+        // warm up every sequence, so the saves below get their ids from blocks already reserved
+        // (on a fresh sequence the pooled optimizer fetches a second value when it hands out its second id)
+        for (String warmup : List.of("warmup1@example.com", "warmup2@example.com")) {
+            candidate(warmup);
+            statementsFor(warmup, 1);
+        }
+        candidate("one@example.com");
+        candidate("twenty@example.com");
+
+        // users lookup + aggregate lookup, then one INSERT per table: profile, education, preferences, skills
+        assertEquals(6, statementsFor("one@example.com", 1));
+        assertEquals(6, statementsFor("twenty@example.com", 20));
+    }
+}
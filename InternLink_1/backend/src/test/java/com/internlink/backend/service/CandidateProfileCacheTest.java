@@ -0,0 +1,57 @@
+package com.internlink.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.internlink.backend.entity.CandidateProfile;
+import com.internlink.backend.entity.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CandidateProfileCacheTest {
+
+    private final CandidateProfileCache cache = new CandidateProfileCache(new SimpleMeterRegistry(), 100, 300);
+    private final AtomicInteger userIdLoads = new AtomicInteger();
+
+    private static CandidateProfile profile(String city) {
+        User user = new User();
+        user.setUserId(7L);
+        user.setEmail("a@example.com");
+        CandidateProfile profile = new CandidateProfile();
+        profile.setUser(user);
+        profile.setCity(city);
+        return profile;
+    }
+
+    private CandidateProfile byUserId() {
+        return cache.getByUserId(7L, id -> {
+            userIdLoads.incrementAndGet();
+            return profile("fresh");
+        });
+    }
+
+    @Test
+    void loadByEmailIsServedByUserIdToo() {
+        CandidateProfile loaded = cache.getByEmail("a@example.com", email -> profile("Pune"));
+
+        assertSame(loaded, byUserId());
+        assertEquals(0, userIdLoads.get());
+    }
+
+    // a write commits (and invalidates) while the email load is still reading the old row
+    @Test
+    void invalidationDuringLoadKeepsTheOldCopyOutOfTheOtherKey() {
+        cache.getByEmail("a@example.com", email -> {
+            CandidateProfile old = profile("old");
+            cache.invalidate("a@example.com", 7L);
+            return old;
+        });
+
+        assertEquals("fresh", byUserId().getCity());
+        assertEquals(1, userIdLoads.get());
+    }
+}
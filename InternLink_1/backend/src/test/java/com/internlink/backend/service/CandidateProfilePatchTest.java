@@ -0,0 +1,286 @@
+package com.internlink.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.internlink.backend.config.ReadYourWritesTracker;
+import com.internlink.backend.dto.CandidateProfilePatch;
+import com.internlink.backend.entity.CandidateEducation;
+import com.internlink.backend.entity.CandidateProfile;
+import com.internlink.backend.entity.CandidateSkill;
+import com.internlink.backend.entity.User;
+import com.internlink.backend.event.CandidateProfileChangedEvent;
+import com.internlink.backend.exception.PreconditionFailedException;
+import com.internlink.backend.repository.CandidateProfileRepository;
+import com.internlink.backend.repository.UserRepository;
+import com.internlink.backend.service.CandidateService.ProfileChanges;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({CandidateService.class, CandidateProfileCache.class, ReadYourWritesTracker.class, SkillVocabulary.class,
+        CandidateProfilePatchTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RecordApplicationEvents
+class CandidateProfilePatchTest {
+
+    static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer captureSql() {
+            StatementInspector inspector = sql -> {
+                SQL.add(sql);
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @Autowired
+    private CandidateService candidateService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CandidateProfileRepository candidateProfileRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private void candidate(String email) {
+        User user = new User();
+        user.setFullName("Test Candidate");
+        user.setEmail(email);
+        user.setPasswordHash("x");
+        user.setRole("candidate");
+        userRepository.save(user);
+    }
+
+    // a saved profile in Pune with Java and SQL
+    private void existingProfile(String email) {
+        candidate(email);
+        CandidateProfile profile = new CandidateProfile();
+        profile.setCity("Pune");
+        profile.setSkills(new ArrayList<>(List.of(new CandidateSkill("Java"), new CandidateSkill("SQL"))));
+        candidateService.saveOrUpdateProfile(email, profile);
+        events.clear();
+    }
+
+    private List<CandidateProfileChangedEvent> changedEvents() {
+        return events.stream(CandidateProfileChangedEvent.class).toList();
+    }
+
+    private List<String> storedSkills(String email) {
+        return candidateProfileRepository.findAggregateByUserEmail(email).orElseThrow()
+                .getSkills().stream().map(CandidateSkill::getSkillName).sorted().toList();
+    }
+
+    private Long storedVersion(String email) {
+        return candidateService.getProfileVersion(email);
+    }
+
+    @Test
+    void writesOnlyWhatChanged() {
+        existingProfile("patch@example.com");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        SQL.clear();
+
+        CandidateProfilePatch patch = new CandidateProfilePatch();
+        patch.setCity("Mumbai");
+        patch.setState(""); // already empty: not a change
+        patch.setAddSkills(List.of("Kotlin", "java")); // java is already there
+        patch.setRemoveSkills(List.of(" sql "));
+        ProfileChanges changes = candidateService.patchProfile("patch@example.com", patch);
+
+        assertEquals(Set.of("city"), changes.fields());
+        assertEquals(List.of("Kotlin"), changes.addedSkills());
+        assertEquals(List.of("SQL"), changes.removedSkills());
+
+        // one column in the UPDATE, Java's row untouched
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getEntityDeleteCount());
+        String update = SQL.stream().filter(sql -> sql.startsWith("update")).findFirst().orElseThrow();
+        assertEquals("update candidate_profiles set city=?,version=? where candidate_id=? and version=?", update);
+        assertEquals(List.of("Java", "Kotlin"), storedSkills("patch@example.com"));
+        assertEquals(1L, changes.version());
+
+        CandidateProfileChangedEvent event = changedEvents().get(0);
+        assertEquals(changes, event.getChanges());
+        assertTrue(event.skillsMayHaveChanged());
+        assertEquals(List.of("Java", "Kotlin"), event.getSkills().stream().sorted().toList());
+    }
+
+    @Test
+    void noChangeNoWritesNoEvent() {
+        existingProfile("same@example.com");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        CandidateProfilePatch patch = new CandidateProfilePatch();
+        patch.setCity("Pune");
+        patch.setAddSkills(List.of("JAVA"));
+        ProfileChanges changes = candidateService.patchProfile("same@example.com", patch);
+
+        assertTrue(changes.isEmpty());
+        assertEquals(0, statistics.getEntityUpdateCount() + statistics.getEntityInsertCount());
+        assertTrue(changedEvents().isEmpty());
+    }
+
+    @Test
+    void nonSkillPatchDoesNotConcernMatching() {
+        existingProfile("prefs@example.com");
+
+        CandidateProfilePatch patch = new CandidateProfilePatch();
+        CandidateProfilePatch.Preferences preferences = new CandidateProfilePatch.Preferences();
+        preferences.setPreferredDomain("Data");
+        patch.setPreferences(preferences);
+        ProfileChanges changes = candidateService.patchProfile("prefs@example.com", patch);
+
+        assertEquals(Set.of("preferences.preferredDomain"), changes.fields());
+        assertFalse(changedEvents().get(0).skillsMayHaveChanged());
+        assertEquals("Data", candidateProfileRepository.findAggregateByUserEmail("prefs@example.com").orElseThrow()
+                .getPreferences().getPreferredDomain());
+    }
+
+    @Test
+    void firstPatchCreatesTheProfile() {
+        candidate("new@example.com");
+
+        CandidateProfilePatch patch = new CandidateProfilePatch();
+        patch.setCity("Delhi");
+        patch.setAddSkills(List.of("Python"));
+        ProfileChanges changes = candidateService.patchProfile("new@example.com", patch);
+
+        assertNotNull(changes.candidateId());
+        assertEquals(List.of("Python"), storedSkills("new@example.com"));
+    }
+
+    @Test
+    void childOnlyChangesStillBumpTheVersion() {
+        existingProfile("skills@example.com");
+        assertEquals(0L, storedVersion("skills@example.com"));
+        SQL.clear();
+
+        CandidateProfilePatch patch = new CandidateProfilePatch();
+        patch.setAddSkills(List.of("Go"));
+        ProfileChanges changes = candidateService.patchProfile("skills@example.com", patch, 0L);
+
+        assertEquals(1L, changes.version());
+        assertEquals(1L, storedVersion("skills@example.com"));
+        // a versioned UPDATE of its own, no row lock taken for it
+        assertTrue(SQL.contains("update candidate_profiles set version=? where candidate_id=? and version=?"), SQL.toString());
+        assertTrue(SQL.stream().noneMatch(sql -> sql.contains("for update")), SQL.toString());
+
+        // a full save that only changes the education is a new version too
+        CandidateProfile profile = new CandidateProfile();
+        profile.setCity("Pune");
+        profile.setSkills(new ArrayList<>(List.of(new CandidateSkill("Java"), new CandidateSkill("SQL"),
+                new CandidateSkill("Go"))));
+        profile.setEducation(new CandidateEducation());
+        profile.getEducation().setLevel("PG");
+        assertEquals(2L, candidateService.saveOrUpdateProfile("skills@example.com", profile, 1L).getVersion());
+    }
+
+    @Test
+    void staleIfMatchIsRejectedBeforeWriting() {
+        existingProfile("stale@example.com");
+        CandidateProfilePatch first = new CandidateProfilePatch();
+        first.setCity("Mumbai");
+        candidateService.patchProfile("stale@example.com", first, 0L);
+        events.clear();
+
+        CandidateProfilePatch second = new CandidateProfilePatch();
+        second.setCity("Chennai");
+        assertThrows(PreconditionFailedException.class,
+                () -> candidateService.patchProfile("stale@example.com", second, 0L));
+        assertThrows(PreconditionFailedException.class,
+                () -> candidateService.saveOrUpdateProfile("stale@example.com", new CandidateProfile(), 0L));
+
+        assertEquals("Mumbai", candidateService.getCandidateProfileByEmail("stale@example.com").getCity());
+        assertEquals(1L, storedVersion("stale@example.com"));
+        assertTrue(changedEvents().isEmpty());
+    }
+
+    @Test
+    void ifMatchOnAMissingProfileFails() {
+        candidate("none@example.com");
+        CandidateProfilePatch patch = new CandidateProfilePatch();
+        patch.setCity("Delhi");
+        assertThrows(PreconditionFailedException.class, () -> candidateService.patchProfile("none@example.com", patch, 0L));
+    }
+
+    // the check-then-write race: another writer commits after this transaction read the profile
+    @Test
+    void concurrentWriteLosesNothing() {
+        existingProfile("race@example.com");
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        TransactionTemplate other = new TransactionTemplate(transactionManager);
+        other.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> outer.executeWithoutResult(status -> {
+            candidateProfileRepository.findAggregateByUserEmail("race@example.com"); // read at version 0
+            other.executeWithoutResult(inner -> {
+                CandidateProfilePatch theirs = new CandidateProfilePatch();
+                theirs.setCity("Mumbai");
+                candidateService.patchProfile("race@example.com", theirs);
+            });
+            CandidateProfilePatch ours = new CandidateProfilePatch();
+            ours.setCity("Chennai");
+            candidateService.patchProfile("race@example.com", ours, 0L);
+        }));
+
+        assertEquals("Mumbai", candidateProfileRepository.findAggregateByUserEmail("race@example.com").orElseThrow().getCity());
+        assertEquals(1L, storedVersion("race@example.com"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.internlink.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.internlink.backend.service.InternshipFacetIndex.FacetCount;
+import com.internlink.backend.service.InternshipFacetIndex.Page;
+import com.internlink.backend.service.InternshipFacetIndex.Query;
+import com.internlink.backend.service.InternshipFacetIndex.Summary;
+
+class InternshipFacetIndexTest {
+
+    private InternshipFacetIndex index;
+
+    private static Summary summary(long id, String domain, String location, String... skills) {
+        return new Summary(id, "Intern " + id, domain, location, Set.of(skills), LocalDateTime.now());
+    }
+
+    private static List<Long> ids(Page page) {
+        return page.items().stream().map(Summary::internshipId).toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new InternshipFacetIndex();
+        index.rebuild(List.of(
+                summary(1, "Software", "Pune", "java", "sql"),
+                summary(2, "Software", "Remote", "python"),
+                summary(3, "Data", "Pune", "python", "sql"),
+                summary(4, "Design", "Mumbai", "figma")));
+    }
+
+    @Test
+    void filtersCombineAndFacetsCountTheOtherFilters() {
+        Page page = index.search(new Query(List.of("software", "DATA"), List.of("pune"), List.of(), 0, 10, 10));
+
+        assertEquals(List.of(3L, 1L), ids(page)); // newest first
+        assertEquals(2, page.total());
+        // domain counts ignore the domain filter (location = pune only), location counts ignore the location filter
+        assertEquals(List.of(new FacetCount("data", 1), new FacetCount("software", 1)), page.domains());
+        assertEquals(List.of(new FacetCount("pune", 2), new FacetCount("remote", 1)), page.locations());
+        assertEquals(List.of(new FacetCount("sql", 2), new FacetCount("java", 1), new FacetCount("python", 1)), page.skills());
+    }
+
+    @Test
+    void skillsMustAllMatchAndPagesWalkNewestFirst() {
+        assertEquals(List.of(3L), ids(index.search(new Query(List.of(), List.of(), List.of("python", "sql"), 0, 10, 10))));
+        assertEquals(List.of(), ids(index.search(new Query(List.of(), List.of(), List.of("python", "cobol"), 0, 10, 10))));
+
+        assertEquals(List.of(4L, 3L), ids(index.search(new Query(List.of(), List.of(), List.of(), 0, 2, 10))));
+        assertEquals(List.of(2L, 1L), ids(index.search(new Query(List.of(), List.of(), List.of(), 1, 2, 10))));
+    }
+
+    @Test
+    void putAndRemoveUpdateIncrementally() {
+        index.remove(3L);
+        index.put(summary(5, "Data", "Remote", "sql"));
+
+        Page page = index.search(new Query(List.of("data"), List.of(), List.of(), 0, 10, 10));
+        assertEquals(List.of(5L), ids(page));
+        assertEquals(List.of(new FacetCount("remote", 1)), page.locations());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void compactionKeepsOrderAndPostings() {
+        for (long id = 10; id < 3010; id++) {
+            index.put(summary(id, id % 2 == 0 ? "Software" : "Data", "Pune", "java"));
+        }
+        for (long id = 10; id < 2990; id++) {
+            index.remove(id); // crosses the compaction threshold along the way
+        }
+
+        Page page = index.search(new Query(List.of("software"), List.of(), List.of("java"), 0, 3, 10));
+        assertEquals(List.of(3008L, 3006L, 3004L), ids(page));
+        assertEquals(11, page.total()); // ten left from the loop plus internship 1
+        assertEquals(24, index.size());
+    }
+}
@@ -0,0 +1,83 @@
+package com.internlink.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.internlink.backend.entity.User;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JWTServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JWTService jwtService = new JWTService(100, meterRegistry);
+
+    private User user(String email) {
+        User user = new User();
+        user.setUserId(42L);
+        user.setEmail(email);
+        user.setRole("candidate");
+        return user;
+    }
+
+    @Test
+    void verifiedClaimsAreServedFromCache() {
+        String token = jwtService.generateToken(user("a@b.com"));
+
+        Claims first = jwtService.parseClaims(token);
+        Claims second = jwtService.parseClaims(token);
+
+        assertSame(first, second);
+        assertEquals("a@b.com", jwtService.extractEmail(token));
+        assertTrue(jwtService.validateToken(first, user("a@b.com")));
+        assertFalse(jwtService.validateToken(first, user("other@b.com")));
+    }
+
+    @Test
+    void parsesAreTimedByOutcome() {
+        String token = jwtService.generateToken(user("a@b.com"));
+        jwtService.parseClaims(token);
+        jwtService.parseClaims(token);
+        assertThrows(JwtException.class, () -> jwtService.parseClaims("not.a.jwt"));
+
+        assertEquals(1, meterRegistry.get("security.jwt.parse").tag("outcome", "verified").timer().count());
+        assertEquals(1, meterRegistry.get("security.jwt.parse").tag("outcome", "cached").timer().count());
+        assertEquals(1, meterRegistry.get("security.jwt.parse").tag("outcome", "rejected").timer().count());
+    }
+
+    @Test
+    void principalIsBuiltFromClaims() {
+        String token = jwtService.generateToken(user("a@b.com"));
+
+        User principal = jwtService.principalFromClaims(jwtService.parseClaims(token));
+
+        assertEquals(42L, principal.getUserId());
+        assertEquals("a@b.com", principal.getEmail());
+        assertEquals("candidate", principal.getRole());
+        assertEquals(0, principal.getTokenVersion());
+    }
+
+    @Test
+    void bumpedTokenVersionInvalidatesOldTokens() {
+        String token = jwtService.generateToken(user("a@b.com"));
+        User revoked = user("a@b.com");
+        revoked.setTokenVersion(1);
+
+        assertFalse(jwtService.validateToken(jwtService.parseClaims(token), revoked));
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        String token = jwtService.generateToken(user("a@b.com"));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtService.parseClaims(tampered));
+    }
+}
@@ -0,0 +1,98 @@
+package com.internlink.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.internlink.backend.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoginRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private final CaffeineRateLimitStore store = new CaffeineRateLimitStore(1_000, now::get);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // 10 per IP (one back every 2s), 3 per email (one back every 60s)
+    private final LoginRateLimiter limiter = new LoginRateLimiter(store, meterRegistry, true, 10, 2, 3, 60);
+
+    private void advanceSeconds(long seconds) {
+        now.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    @Test
+    void emailRunsOutAndRefills() {
+        for (int i = 0; i < 3; i++) {
+            limiter.checkLogin("10.0.0.1", "victim@x.com");
+        }
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                () -> limiter.checkLogin("10.0.0.2", " Victim@X.com "));
+        assertEquals(60, e.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("security.login.rate-limited").tag("bucket", "email").counter().count());
+
+        advanceSeconds(59);
+        assertThrows(TooManyRequestsException.class, () -> limiter.checkLogin("10.0.0.3", "victim@x.com"));
+        advanceSeconds(1);
+        assertDoesNotThrow(() -> limiter.checkLogin("10.0.0.3", "victim@x.com"));
+    }
+
+    @Test
+    void ipIsLimitedAcrossEmails() {
+        for (int i = 0; i < 10; i++) {
+            limiter.checkLogin("10.0.0.9", "user" + i + "@x.com");
+        }
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                () -> limiter.checkLogin("10.0.0.9", "fresh@x.com"));
+        assertEquals(2, e.getRetryAfterSeconds());
+
+        // rejected on the IP, so the email's bucket wasn't touched
+        advanceSeconds(2);
+        limiter.checkLogin("10.0.0.9", "fresh@x.com");
+        limiter.checkLogin("10.0.0.10", "fresh@x.com");
+        limiter.checkLogin("10.0.0.11", "fresh@x.com");
+        assertThrows(TooManyRequestsException.class, () -> limiter.checkLogin("10.0.0.12", "fresh@x.com"));
+    }
+
+    @Test
+    void disabledLetsEverythingThrough() {
+        LoginRateLimiter off = new LoginRateLimiter(store, meterRegistry, false, 1, 60, 1, 60);
+        for (int i = 0; i < 5; i++) {
+            off.checkLogin("10.0.0.1", "a@x.com");
+        }
+    }
+
+    @Test
+    void idleBucketsAreForgottenOnceFull() {
+        store.tryConsume("k", 5, TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, store.size());
+        advanceSeconds(2);
+        assertEquals(0, store.size());
+        assertEquals(0, store.tryConsume("k", 5, TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    @Test
+    void concurrentTakesNeverOverspend() throws Exception {
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1_000; i++) {
+            pool.execute(() -> {
+                if (store.tryConsume("shared", 100, TimeUnit.HOURS.toNanos(1)) == 0) {
+                    granted.incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals(100, granted.get());
+    }
+}
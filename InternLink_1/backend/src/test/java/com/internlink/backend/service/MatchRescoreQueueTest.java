@@ -0,0 +1,157 @@
+package com.internlink.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.internlink.backend.entity.Internship;
+import com.internlink.backend.event.CandidateProfileChangedEvent;
+import com.internlink.backend.event.MatchesFoundEvent;
+import com.internlink.backend.repository.MatchScoreWriter;
+import com.internlink.backend.service.MatchingEngine.CandidateRescore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MatchRescoreQueueTest {
+
+    private MatchingEngine engine;
+    private MatchScoreWriter writer;
+    private MatchRescoreQueue queue;
+    private SimpleMeterRegistry meters;
+    private final List<Object> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        engine = new MatchingEngine(null, null, new SimpleMeterRegistry());
+        writer = mock(MatchScoreWriter.class);
+        meters = new SimpleMeterRegistry();
+        queue = new MatchRescoreQueue(engine, writer, events::add, meters, 1_000, 60_000, 1, 2, 3);
+
+        engine.indexInternship(internship(1L, Map.of("java", 1.0)));
+        engine.indexInternship(internship(2L, Map.of("python", 1.0)));
+        engine.indexInternship(internship(3L, Map.of("figma", 1.0)));
+        engine.indexCandidate(7L, List.of("python"));
+    }
+
+    private Internship internship(long id, Map<String, Double> weights) {
+        Internship internship = new Internship();
+        internship.setInternshipId(id);
+        internship.setSkillWeights(weights);
+        return internship;
+    }
+
+    private CandidateProfileChangedEvent saved(List<String> skills) {
+        return new CandidateProfileChangedEvent(7L, skills, null);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void repeatedSavesCoalesceIntoOneDelta() {
+        for (int i = 0; i < 10; i++) {
+            queue.onProfileChanged(saved(List.of("Java", "python")));
+        }
+        queue.onProfileChanged(saved(List.of("Java")));
+
+        assertEquals(0, queue.flush(System.currentTimeMillis())); // still inside the quiet period
+        assertEquals(1, queue.flush(System.currentTimeMillis() + 5_000));
+
+        ArgumentCaptor<List<CandidateRescore>> captor = ArgumentCaptor.forClass(List.class);
+        verify(writer, times(1)).applyCandidateDeltas(captor.capture());
+        CandidateRescore rescore = captor.getValue().get(0);
+        // java was added, python dropped, figma never involved
+        assertEquals(Set.of(1L, 2L), rescore.affectedInternshipIds());
+        assertEquals(1, rescore.scores().size());
+        assertEquals(1L, rescore.scores().get(0).getInternshipId());
+        assertEquals(0, queue.pendingCount());
+
+        // the only java candidate, so straight to the top of internship 1
+        assertEquals(1, events.size());
+        List<MatchingEngine.TopMatch> found = ((MatchesFoundEvent) events.get(0)).getMatches();
+        assertEquals(1, found.size());
+        assertEquals(1L, found.get(0).internshipId());
+        assertEquals(0, found.get(0).rank());
+    }
+
+    @Test
+    void unchangedSkillsAreDropped() {
+        queue.onProfileChanged(saved(List.of(" Python ")));
+
+        assertEquals(0, queue.flush(System.currentTimeMillis() + 5_000));
+        verify(writer, never()).applyCandidateDeltas(anyList());
+        assertEquals(0, events.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedWriteIsRetriedByTheNextFlush() {
+        doThrow(new DataAccessResourceFailureException("down")).doNothing().when(writer).applyCandidateDeltas(anyList());
+        queue.onProfileChanged(saved(List.of("Java")));
+        long later = System.currentTimeMillis() + 5_000;
+
+        assertThrows(DataAccessResourceFailureException.class, () -> queue.flush(later));
+        assertEquals(0, events.size());
+
+        // the index already has java, but the delta isn't lost: the same batch goes out again
+        assertEquals(1, queue.flush(later));
+        ArgumentCaptor<List<CandidateRescore>> captor = ArgumentCaptor.forClass(List.class);
+        verify(writer, times(2)).applyCandidateDeltas(captor.capture());
+        assertEquals(captor.getAllValues().get(0), captor.getAllValues().get(1));
+        assertEquals(1, events.size());
+
+        assertEquals(0, queue.flush(later));
+        verify(writer, times(2)).applyCandidateDeltas(anyList());
+    }
+
+    @Test
+    void writesFailingTooLongAreLeftToARematch() {
+        doThrow(new DataAccessResourceFailureException("down")).when(writer).applyCandidateDeltas(anyList());
+        queue.onProfileChanged(saved(List.of("Java")));
+        long later = System.currentTimeMillis() + 5_000;
+
+        assertThrows(DataAccessResourceFailureException.class, () -> queue.flush(later)); // kept
+        for (int retry = 0; retry < 3; retry++) {
+            assertThrows(DataAccessResourceFailureException.class, () -> queue.flush(later));
+        }
+        assertTrue(queue.rematchNeeded());
+        assertEquals(1.0, meters.counter("matching.rescore.dropped").count());
+
+        // given up on: nothing left to retry
+        assertEquals(0, queue.flush(later));
+        verify(writer, times(4)).applyCandidateDeltas(anyList());
+
+        queue.pausedDuring(() -> { });
+        assertFalse(queue.rematchNeeded());
+    }
+
+    @Test
+    void flushWaitsOutARematch() {
+        queue.onProfileChanged(saved(List.of("Java")));
+        long later = System.currentTimeMillis() + 5_000;
+
+        // the scheduler's flush comes from another thread while the rematch holds the queue
+        queue.pausedDuring(() -> assertEquals(0, CompletableFuture.supplyAsync(() -> queue.flush(later)).join()));
+        verify(writer, never()).applyCandidateDeltas(anyList());
+        assertEquals(1, queue.pendingCount());
+
+        assertEquals(1, queue.flush(later));
+        verify(writer, times(1)).applyCandidateDeltas(anyList());
+    }
+}
@@ -0,0 +1,130 @@
+package com.internlink.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.internlink.backend.entity.Internship;
+import com.internlink.backend.entity.MatchScore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MatchingEngineTest {
+
+    private MatchingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new MatchingEngine(null, null, new SimpleMeterRegistry()); // index is fed directly, no repositories needed
+        engine.indexCandidate(1L, List.of("Java", "SQL", "Spring"));
+        engine.indexCandidate(2L, List.of("java"));
+        engine.indexCandidate(3L, List.of("Python", "sql "));
+        engine.indexCandidate(4L, List.of("Figma"));
+    }
+
+    private Internship internship(Map<String, Double> weights) {
+        Internship internship = new Internship();
+        internship.setInternshipId(10L);
+        internship.setSkillWeights(weights);
+        return internship;
+    }
+
+    @Test
+    void ranksByWeightedOverlap() {
+        List<MatchScore> matches = engine.topMatches(internship(Map.of("java", 3.0, "sql", 1.0)), 10);
+
+        assertEquals(3, matches.size());
+        assertEquals(1L, matches.get(0).getCandidateId());
+        assertEquals(1.0, matches.get(0).getScore(), 1e-9);
+        assertEquals(2L, matches.get(1).getCandidateId());
+        assertEquals(0.75, matches.get(1).getScore(), 1e-9);
+        assertEquals(3L, matches.get(2).getCandidateId());
+        assertEquals(0.25, matches.get(2).getScore(), 1e-9);
+        assertEquals(10L, matches.get(0).getInternshipId());
+    }
+
+    @Test
+    void keepsOnlyTopK() {
+        List<MatchScore> matches = engine.topMatches(internship(Map.of("java", 3.0, "sql", 1.0)), 2);
+
+        assertEquals(List.of(1L, 2L), matches.stream().map(MatchScore::getCandidateId).toList());
+    }
+
+    @Test
+    void reindexReplacesPreviousSkills() {
+        engine.indexCandidate(4L, List.of("Java", "SQL"));
+        engine.removeCandidate(1L);
+
+        List<MatchScore> matches = engine.topMatches(internship(Map.of("java", 3.0, "sql", 1.0)), 10);
+
+        assertEquals(4L, matches.get(0).getCandidateId());
+        assertTrue(matches.stream().noneMatch(m -> m.getCandidateId() == 1L));
+        assertEquals(3, engine.indexedCandidates());
+    }
+
+    @Test
+    void shardedRematchAgreesWithSingleInternshipScoring() {
+        for (long id = 100; id < 1_100; id++) {
+            engine.indexCandidate(id, id % 3 == 0 ? List.of("java", "sql") : List.of("sql", "python", "skill" + id % 7));
+        }
+        Internship backend = internship(Map.of("java", 3.0, "sql", 1.0));
+        Internship data = internship(Map.of("python", 2.0, "skill3", 1.0));
+        data.setInternshipId(11L);
+        engine.indexInternship(backend);
+        engine.indexInternship(data);
+
+        LongAdder progress = new LongAdder();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Map<Long, List<MatchScore>> all = engine.rematchAll(20, 64, pool, progress);
+        pool.shutdown();
+
+        assertEquals(engine.indexedCandidates(), progress.sum());
+        for (Internship internship : List.of(backend, data)) {
+            List<MatchScore> expected = engine.topMatches(internship, 20);
+            List<MatchScore> actual = all.get(internship.getInternshipId());
+            assertEquals(expected.stream().map(MatchScore::getCandidateId).toList(),
+                    actual.stream().map(MatchScore::getCandidateId).toList());
+        }
+    }
+
+    @Test
+    void leaderboardFollowsRescoresAndRefills() {
+        for (long id = 100; id < 400; id++) {
+            engine.indexCandidate(id, List.of("java", "skill" + id % 11));
+        }
+        Internship internship = internship(Map.of("java", 1.0, "skill3", 1.0, "sql", 1.0));
+        engine.indexInternship(internship);
+        assertEquals(engine.topMatches(internship, 5).stream().map(MatchScore::getCandidateId).toList(),
+                engine.leaderboard(10L, 5).stream().map(MatchScore::getCandidateId).toList());
+
+        // push some candidates up, knock the current leaders out entirely
+        engine.rescoreCandidate(150L, List.of("java", "skill3", "sql"));
+        for (MatchScore leader : engine.leaderboard(10L, 3)) {
+            if (leader.getCandidateId() != 150L) {
+                engine.rescoreCandidate(leader.getCandidateId(), List.of("figma"));
+            }
+        }
+        engine.removeCandidate(1L);
+
+        for (int k : new int[] {1, 5, 50, MatchingEngine.LEADERBOARD_CAPACITY, 500}) {
+            List<MatchScore> expected = engine.topMatches(internship, k);
+            List<MatchScore> actual = engine.leaderboard(10L, k);
+            assertEquals(expected.stream().map(MatchScore::getCandidateId).toList(),
+                    actual.stream().map(MatchScore::getCandidateId).toList());
+        }
+        assertEquals(150L, engine.leaderboard(10L, 1).get(0).getCandidateId());
+        assertTrue(engine.leaderboard(99L, 5).isEmpty());
+    }
+
+    @Test
+    void noSkillsMeansNoMatches() {
+        assertTrue(engine.topMatches(internship(Map.of()), 10).isEmpty());
+    }
+}
@@ -0,0 +1,159 @@
+package com.internlink.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.internlink.backend.event.MatchesFoundEvent;
+import com.internlink.backend.service.MatchingEngine.TopMatch;
+import com.internlink.backend.service.NotificationBus.MatchNotification;
+import com.internlink.backend.service.NotificationBus.Recipient;
+import com.internlink.backend.service.NotificationBus.RecipientType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class NotificationBusTest {
+
+    // keeps every batch it gets, by recipient
+    static final class RecordingSink implements NotificationSink {
+        final Map<Recipient, List<List<MatchNotification>>> batches = new ConcurrentHashMap<>();
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public void deliver(Recipient recipient, List<MatchNotification> notifications) {
+            batches.computeIfAbsent(recipient, r -> new CopyOnWriteArrayList<>()).add(List.copyOf(notifications));
+        }
+    }
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecordingSink sink = new RecordingSink();
+    private NotificationBus bus;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        bus.shutdown();
+    }
+
+    private static MatchNotification notification(long candidateId, long internshipId, double score) {
+        return new MatchNotification(new Recipient(RecipientType.CANDIDATE, candidateId), candidateId, internshipId,
+                score, 0, System.currentTimeMillis());
+    }
+
+    @Test
+    void batchesPerRecipientAfterTheLinger() throws Exception {
+        bus = new NotificationBus(List.of(sink), meterRegistry, 10_000, 50, 1_000, 1, 10);
+        bus.onMatchesFound(new MatchesFoundEvent(List.of(
+                new TopMatch(1L, 100L, 9L, 0.9, 0),
+                new TopMatch(2L, 100L, 9L, 0.8, 1),
+                new TopMatch(1L, 101L, 9L, 0.7, 3))));
+
+        long now = System.currentTimeMillis();
+        assertEquals(0, bus.drain(now, false)); // nothing has lingered long enough
+        assertEquals(3, bus.drain(now + 10_000, false)); // candidates 1 and 2, recruiter 9
+        assertTrue(bus.awaitIdle(5_000));
+
+        assertEquals(1, sink.batches.get(new Recipient(RecipientType.RECRUITER, 9L)).size());
+        assertEquals(3, sink.batches.get(new Recipient(RecipientType.RECRUITER, 9L)).get(0).size());
+        assertEquals(2, sink.batches.get(new Recipient(RecipientType.CANDIDATE, 1L)).get(0).size());
+        assertEquals(6, meterRegistry.get("notifications.delivered").tag("sink", "recording").counter().count());
+        assertEquals(6, meterRegistry.get("notifications.lag").timer().count());
+    }
+
+    @Test
+    void laterNotificationForTheSamePairReplacesTheEarlierOne() throws Exception {
+        bus = new NotificationBus(List.of(sink), meterRegistry, 10_000, 50, 1_000, 1, 10);
+        bus.publish(notification(1, 100, 0.5));
+        bus.publish(notification(1, 100, 0.9));
+        assertEquals(1, bus.pendingCount());
+
+        assertTrue(bus.awaitIdle(5_000));
+        List<MatchNotification> batch = sink.batches.get(new Recipient(RecipientType.CANDIDATE, 1L)).get(0);
+        assertEquals(1, batch.size());
+        assertEquals(0.9, batch.get(0).score());
+    }
+
+    @Test
+    void fullBatchGoesOutWithoutWaiting() {
+        bus = new NotificationBus(List.of(sink), meterRegistry, 60_000, 3, 1_000, 1, 10);
+        for (int i = 0; i < 3; i++) {
+            bus.publish(notification(1, 100 + i, 0.5));
+        }
+        assertEquals(1, bus.drain(System.currentTimeMillis(), false));
+    }
+
+    @Test
+    void dropsOnceMaxPendingIsReached() {
+        bus = new NotificationBus(List.of(sink), meterRegistry, 60_000, 50, 2, 1, 10);
+        assertTrue(bus.publish(notification(1, 100, 0.5)));
+        assertTrue(bus.publish(notification(2, 100, 0.5)));
+        assertFalse(bus.publish(notification(3, 100, 0.5)));
+        assertEquals(1, meterRegistry.get("notifications.dropped").counter().count());
+    }
+
+    @Test
+    void slowSinkBacksUpIntoThePendingMap() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        NotificationSink slow = new NotificationSink() {
+            @Override
+            public String name() {
+                return "slow";
+            }
+
+            @Override
+            public void deliver(Recipient recipient, List<MatchNotification> notifications) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        // one thread, queue of one: the third batch can't be handed over until the sink frees up
+        bus = new NotificationBus(List.of(slow, sink), meterRegistry, 0, 50, 1_000, 1, 1);
+        for (long candidate = 1; candidate <= 3; candidate++) {
+            bus.publish(notification(candidate, 100, 0.5));
+        }
+        int dispatched = bus.drain(System.currentTimeMillis(), false);
+        assertTrue(dispatched < 3);
+        assertEquals(3, bus.pendingCount()); // nothing lost, just waiting
+
+        release.countDown();
+        assertTrue(bus.awaitIdle(5_000));
+        assertEquals(3, sink.batches.size());
+    }
+
+    @Test
+    void failingSinkDoesNotStopTheOthers() throws Exception {
+        NotificationSink broken = new NotificationSink() {
+            @Override
+            public String name() {
+                return "broken";
+            }
+
+            @Override
+            public void deliver(Recipient recipient, List<MatchNotification> notifications) {
+                throw new IllegalStateException("smtp down");
+            }
+        };
+        bus = new NotificationBus(List.of(broken, sink), meterRegistry, 0, 50, 1_000, 1, 10);
+        bus.publish(notification(1, 100, 0.5));
+
+        assertTrue(bus.awaitIdle(5_000));
+        assertEquals(1, sink.batches.size());
+        assertEquals(1, meterRegistry.get("notifications.failed").tag("sink", "broken").counter().count());
+    }
+}
@@ -0,0 +1,59 @@
+package com.internlink.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.internlink.backend.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHashingServiceTest {
+
+    @Test
+    void encodesAndMatchesOnThePool() {
+        PasswordHashingService hashing = new PasswordHashingService(4, 0, 2, 8, 5000, new SimpleMeterRegistry());
+        try {
+            String hash = hashing.encode("secret");
+            assertTrue(hashing.matches("secret", hash));
+            assertFalse(hashing.matches("other", hash));
+            assertEquals(4, PasswordHashingService.costOf(hash));
+        } finally {
+            hashing.shutdown();
+        }
+    }
+
+    @Test
+    void hashesWithAnotherCostNeedRehash() {
+        PasswordHashingService hashing = new PasswordHashingService(5, 0, 1, 8, 5000, new SimpleMeterRegistry());
+        try {
+            assertTrue(hashing.needsRehash(new BCryptPasswordEncoder(4).encode("secret")));
+            assertFalse(hashing.needsRehash(new BCryptPasswordEncoder(5).encode("secret")));
+            assertEquals(-1, PasswordHashingService.costOf("plain-text"));
+        } finally {
+            hashing.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsWhenPoolAndQueueAreFull() {
+        // one thread, one queue slot: a slow hash running plus one waiting fills it
+        PasswordHashingService hashing = new PasswordHashingService(13, 0, 1, 1, 5000, new SimpleMeterRegistry());
+        try {
+            CompletableFuture<String> running = hashing.encodeAsync("a");
+            CompletableFuture<String> queued = hashing.encodeAsync("b");
+            assertTrue(hashing.encodeAsync("c").isCompletedExceptionally());
+            assertThrows(TooManyRequestsException.class, () -> hashing.encode("d"));
+            running.cancel(true);
+            queued.cancel(true);
+        } finally {
+            hashing.shutdown();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.internlink.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.internlink.backend.repository.MatchScoreReader;
+import com.internlink.backend.repository.MatchScoreReader.CandidateMatch;
+
+class RecruiterServiceTest {
+
+    @Test
+    void exportWritesOneJsonObjectPerLine() throws Exception {
+        MatchScoreReader reader = mock(MatchScoreReader.class);
+        doAnswer(invocation -> {
+            Consumer<CandidateMatch> consumer = invocation.getArgument(1);
+            consumer.accept(new CandidateMatch(1L, 0.9, LocalDateTime.of(2025, 1, 1, 0, 0), "A", "a@x.com", null, "Pune", null, List.of("java")));
+            consumer.accept(new CandidateMatch(2L, 0.5, null, "B", "b@x.com", null, null, null, List.of()));
+            return null;
+        }).when(reader).forEach(eq(7L), any());
+
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        RecruiterService service = new RecruiterService(mock(InternshipService.class), reader, mock(MatchingEngine.class), objectMapper);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.exportCandidates(7L, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1L, objectMapper.readTree(lines[0]).get("candidateId").asLong());
+        assertEquals("java", objectMapper.readTree(lines[0]).get("skills").get(0).asText());
+        assertEquals("b@x.com", objectMapper.readTree(lines[1]).get("email").asText());
+    }
+}
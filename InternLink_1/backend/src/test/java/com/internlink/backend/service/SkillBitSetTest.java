@@ -0,0 +1,50 @@
+package com.internlink.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class SkillBitSetTest {
+
+    private final SkillDictionary dictionary = new SkillDictionary();
+
+    @Test
+    void internsNormalizedNamesToDenseIds() {
+        assertEquals(0, dictionary.intern("Java"));
+        assertEquals(0, dictionary.intern(" java "));
+        assertEquals(1, dictionary.intern("SQL"));
+        assertEquals(-1, dictionary.idOf("python"));
+        assertEquals("sql", dictionary.nameOf(1));
+        assertEquals(2, dictionary.size());
+    }
+
+    @Test
+    void sameSkillsGiveEqualBitsets() {
+        long[] a = SkillBitSet.of(List.of("Java", "SQL"), dictionary);
+        long[] b = SkillBitSet.of(List.of("sql", "JAVA", "java"), dictionary);
+
+        assertArrayEquals(a, b);
+        assertEquals(2, SkillBitSet.cardinality(a));
+        assertTrue(SkillBitSet.contains(a, dictionary.idOf("sql")));
+    }
+
+    @Test
+    void jaccardAndOverlapAcrossWords() {
+        // push ids past the first 64-bit word
+        IntStream.range(0, 100).forEach(i -> dictionary.intern("filler" + i));
+        long[] candidate = SkillBitSet.of(List.of("filler3", "filler70", "filler99", "go"), dictionary);
+        long[] required = SkillBitSet.of(List.of("filler3", "filler70", "rust"), dictionary);
+
+        assertEquals(2, SkillBitSet.intersectionCount(candidate, required));
+        assertEquals(2.0 / 5.0, SkillBitSet.jaccard(candidate, required), 1e-9);
+        // required ids ascending: filler3, filler70, rust
+        assertEquals(1.0 + 2.0, SkillBitSet.weightedOverlap(candidate, required, new double[] {1.0, 2.0, 4.0}), 1e-9);
+        assertFalse(SkillBitSet.intersects(SkillBitSet.of(List.of("go"), dictionary), required));
+    }
+}
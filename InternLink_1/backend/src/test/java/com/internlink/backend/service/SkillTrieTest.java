@@ -0,0 +1,74 @@
+package com.internlink.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.internlink.backend.service.SkillTrie.Term;
+
+class SkillTrieTest {
+
+    private final SkillTrie trie = SkillTrie.build(List.of(
+            new Term("Java", 120), new Term("java", 30), new Term("JavaScript", 200),
+            new Term("Jakarta EE", 5), new Term("Kubernetes", 40), new Term("Kotlin", 60),
+            new Term("SQL", 90), new Term("Spring  Boot", 70), new Term("Spark", 10)));
+
+    @Test
+    void spellingsOfOneKeyMerge() {
+        assertEquals(8, trie.size());
+        assertEquals("Java", trie.canonical(" JAVA "));
+        assertEquals("Spring Boot", trie.canonical("spring boot"));
+        assertNull(trie.canonical("Python"));
+    }
+
+    @Test
+    void prefixSuggestionsMostUsedFirst() {
+        assertEquals(List.of("JavaScript", "Java", "Jakarta EE"), trie.suggest("ja", 10));
+        assertEquals(List.of("JavaScript", "Java"), trie.suggest("JAV", 10));
+        assertEquals(List.of("Spring Boot", "Spark"), trie.suggest("sp", 10));
+        assertEquals(List.of("JavaScript"), trie.suggest("j", 1));
+        assertEquals(List.of(), trie.suggest("x", 10));
+        assertEquals(List.of(), trie.suggest("  ", 10));
+    }
+
+    @Test
+    void largeSubtreesUsePrecomputedTop() {
+        List<Term> terms = new ArrayList<>();
+        IntStream.range(0, 500).forEach(i -> terms.add(new Term("skill-" + i, i)));
+        SkillTrie big = SkillTrie.build(terms);
+
+        List<String> expected = IntStream.range(0, SkillTrie.MAX_SUGGESTIONS).mapToObj(i -> "skill-" + (499 - i)).toList();
+        assertEquals(expected, big.suggest("skill", 50));
+        assertEquals(List.of("skill-499", "skill-498"), big.suggest("skill-4", 2));
+        assertEquals(List.of("skill-499"), big.suggest("skill-499", 5));
+    }
+
+    @Test
+    void correctsWithinTheEditBudget() {
+        assertEquals("Kubernetes", trie.correct("kubernets", 2));   // deletion
+        assertEquals("Kubernetes", trie.correct("kuberentes", 2));  // transposition counts as one
+        assertEquals("Kotlin", trie.correct("Kotlni", 1));
+        assertEquals("Java", trie.correct("java8", 1));
+        assertEquals("Java", trie.correct("JAVA", 0));              // exact needs no budget
+        assertNull(trie.correct("Kotlni", 0));
+        assertNull(trie.correct("Haskell", 2));
+    }
+
+    @Test
+    void tiesGoToTheMoreUsedTerm() {
+        SkillTrie sparkOrSpack = SkillTrie.build(List.of(new Term("Spark", 10), new Term("Slack", 50)));
+        assertEquals("Slack", sparkOrSpack.correct("Slark", 1));
+    }
+
+    @Test
+    void emptyVocabulary() {
+        assertEquals(0, SkillTrie.EMPTY.size());
+        assertEquals(List.of(), SkillTrie.EMPTY.suggest("a", 5));
+        assertNull(SkillTrie.EMPTY.correct("anything", 2));
+    }
+}
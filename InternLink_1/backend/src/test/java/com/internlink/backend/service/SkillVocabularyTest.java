@@ -0,0 +1,140 @@
+package com.internlink.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.internlink.backend.config.ReadYourWritesTracker;
+import com.internlink.backend.dto.CandidateProfilePatch;
+import com.internlink.backend.entity.CandidateProfile;
+import com.internlink.backend.entity.CandidateSkill;
+import com.internlink.backend.entity.User;
+import com.internlink.backend.repository.CandidateProfileRepository;
+import com.internlink.backend.repository.UserRepository;
+import com.internlink.backend.service.CandidateService.ProfileChanges;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * SkillVocabulary built from saved profiles on H2, and CandidateService storing and removing skills through it.
+ * The trie itself (suggestions, typo correction) is in SkillTrieTest.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({CandidateService.class, CandidateProfileCache.class, ReadYourWritesTracker.class, SkillVocabulary.class,
+        SkillVocabularyTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SkillVocabularyTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private CandidateService candidateService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CandidateProfileRepository candidateProfileRepository;
+
+    @Autowired
+    private SkillVocabulary skillVocabulary;
+
+    private void candidate(String email) {
+        User user = new User();
+        user.setFullName("Test Candidate");
+        user.setEmail(email);
+        user.setPasswordHash("x");
+        user.setRole("candidate");
+        userRepository.save(user);
+    }
+
+    // a saved profile with Java and SQL
+    private void existingProfile(String email) {
+        candidate(email);
+        CandidateProfile profile = new CandidateProfile();
+        profile.setSkills(new ArrayList<>(List.of(new CandidateSkill("Java"), new CandidateSkill("SQL"))));
+        candidateService.saveOrUpdateProfile(email, profile);
+    }
+
+    // count profiles listing each skill, enough of them (3, skills.vocabulary.min-uses) makes it a term
+    private void profilesWith(String prefix, int count, String... skills) {
+        for (int i = 0; i < count; i++) {
+            candidate(prefix + i + "@example.com");
+            CandidateProfile profile = new CandidateProfile();
+            List<CandidateSkill> listed = new ArrayList<>();
+            for (String skill : skills) {
+                listed.add(new CandidateSkill(skill));
+            }
+            listed.add(new CandidateSkill("Rare " + prefix + i));
+            profile.setSkills(listed);
+            candidateService.saveOrUpdateProfile(prefix + i + "@example.com", profile);
+        }
+        skillVocabulary.rebuild();
+    }
+
+    private List<String> storedSkills(String email) {
+        return candidateProfileRepository.findAggregateByUserEmail(email).orElseThrow()
+                .getSkills().stream().map(CandidateSkill::getSkillName).sorted().toList();
+    }
+
+    @Test
+    void savedSkillsUseTheVocabularySpelling() {
+        profilesWith("kube", 3, "Kubernetes");
+        assertEquals(List.of("Kubernetes"), skillVocabulary.suggest("kub", 10));
+        assertEquals(List.of(), skillVocabulary.suggest("rare", 10)); // one profile each, not a term
+
+        existingProfile("typo@example.com");
+        CandidateProfilePatch patch = new CandidateProfilePatch();
+        patch.setAddSkills(List.of("kuberentes", "Rust"));
+        ProfileChanges changes = candidateService.patchProfile("typo@example.com", patch);
+
+        assertEquals(List.of("Kubernetes", "Rust"), changes.addedSkills());
+        assertEquals(List.of("Java", "Kubernetes", "Rust", "SQL"), storedSkills("typo@example.com"));
+
+        // a full save with another spelling of a skill already there keeps one row
+        CandidateProfile profile = new CandidateProfile();
+        profile.setSkills(new ArrayList<>(List.of(new CandidateSkill(" KUBERNETES "), new CandidateSkill("Kubernetes"))));
+        candidateService.saveOrUpdateProfile("typo@example.com", profile);
+        assertEquals(List.of("Kubernetes"), storedSkills("typo@example.com"));
+    }
+
+    @Test
+    void removedSkillsAreMatchedThroughTheVocabulary() {
+        profilesWith("py", 3, "Python");
+
+        existingProfile("remove@example.com");
+        CandidateProfilePatch add = new CandidateProfilePatch();
+        add.setAddSkills(List.of("Pyhton"));
+        candidateService.patchProfile("remove@example.com", add);
+        assertEquals(List.of("Java", "Python", "SQL"), storedSkills("remove@example.com"));
+
+        // removed with the same typo it was added with
+        CandidateProfilePatch remove = new CandidateProfilePatch();
+        remove.setRemoveSkills(List.of("Pyhton", " sql "));
+        ProfileChanges changes = candidateService.patchProfile("remove@example.com", remove);
+
+        assertEquals(List.of("Python", "SQL"), changes.removedSkills().stream().sorted().toList());
+        assertEquals(List.of("Java"), storedSkills("remove@example.com"));
+    }
+}
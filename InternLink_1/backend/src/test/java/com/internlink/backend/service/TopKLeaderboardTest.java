@@ -0,0 +1,182 @@
+package com.internlink.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TopKLeaderboardTest {
+
+    // a complete board of capacity 3 holding 1:0.9, 2:0.8, 3:0.7
+    private TopKLeaderboard full() {
+        TopKLeaderboard leaderboard = new TopKLeaderboard(3);
+        leaderboard.replace(leaderboard.snapshot(), new long[] {1, 2, 3}, new double[] {0.9, 0.8, 0.7}, 3);
+        return leaderboard;
+    }
+
+    @Test
+    void startsEmptyAndNeedsAFill() {
+        TopKLeaderboard leaderboard = new TopKLeaderboard(3);
+        leaderboard.update(1, 0.5);
+
+        assertEquals(0, leaderboard.snapshot().size());
+        assertFalse(leaderboard.canServe(leaderboard.snapshot(), 1));
+    }
+
+    @Test
+    void insertsInOrderAndTrimsToCapacity() {
+        TopKLeaderboard leaderboard = full();
+        leaderboard.update(4, 0.85);
+        leaderboard.update(5, 0.1); // below the last entry of a full board
+
+        assertArrayEquals(new long[] {1, 4, 2}, leaderboard.snapshot().ids());
+        assertFalse(leaderboard.snapshot().depleted());
+    }
+
+    @Test
+    void tiesGoToTheLowerId() {
+        TopKLeaderboard leaderboard = full();
+        leaderboard.update(0, 0.8);
+
+        assertArrayEquals(new long[] {1, 0, 2}, leaderboard.snapshot().ids());
+    }
+
+    @Test
+    void noChangeKeepsTheSameSnapshot() {
+        TopKLeaderboard leaderboard = full();
+        TopKLeaderboard.Board before = leaderboard.snapshot();
+        leaderboard.update(9, 0.2);
+        leaderboard.update(2, 0.8);
+        leaderboard.update(9, 0);
+
+        assertSame(before, leaderboard.snapshot());
+    }
+
+    @Test
+    void droppingOutOfAFullBoardDepletesIt() {
+        TopKLeaderboard leaderboard = full();
+        leaderboard.update(1, 0.75); // still above the last entry, just moves down
+        assertArrayEquals(new long[] {2, 1, 3}, leaderboard.snapshot().ids());
+        assertFalse(leaderboard.snapshot().depleted());
+
+        leaderboard.update(2, 0.3); // could now be behind someone off the board
+        TopKLeaderboard.Board board = leaderboard.snapshot();
+        assertArrayEquals(new long[] {1, 3}, board.ids());
+        assertTrue(board.depleted());
+        assertTrue(leaderboard.canServe(board, 2));
+        assertFalse(leaderboard.canServe(board, 3));
+
+        leaderboard.update(8, 0.5); // depleted: only entries beating the last one get in
+        leaderboard.update(9, 0.72);
+        assertArrayEquals(new long[] {1, 9, 3}, leaderboard.snapshot().ids());
+    }
+
+    @Test
+    void boardThatKnowsEveryoneStaysExact() {
+        TopKLeaderboard leaderboard = new TopKLeaderboard(5);
+        leaderboard.replace(leaderboard.snapshot(), new long[] {1, 2}, new double[] {0.9, 0.8}, 2);
+        leaderboard.update(1, 0.1);
+        leaderboard.update(3, 0.05);
+        leaderboard.update(2, 0);
+
+        TopKLeaderboard.Board board = leaderboard.snapshot();
+        assertArrayEquals(new long[] {1, 3}, board.ids());
+        assertFalse(board.depleted());
+        assertTrue(leaderboard.canServe(board, 5));
+    }
+
+    @Test
+    void replaceLosesToAConcurrentWrite() {
+        TopKLeaderboard leaderboard = full();
+        TopKLeaderboard.Board seen = leaderboard.snapshot();
+        leaderboard.update(4, 0.95);
+
+        assertFalse(leaderboard.replace(seen, new long[] {7}, new double[] {0.5}, 1));
+        assertEquals(4L, leaderboard.snapshot().ids()[0]);
+    }
+
+    /*
+     * Writers own disjoint candidates and publish random scores (0 = no match) concurrently; afterwards the
+     * board must be exactly the best of everyone's last score, or an exact prefix of it if depleted.
+     * Readers run alongside and must only ever see sorted, duplicate-free snapshots.
+     */
+    @Test
+    void concurrentWritersLeaveAnExactPrefix() throws Exception {
+        int writers = 8;
+        int candidatesPerWriter = 200;
+        TopKLeaderboard leaderboard = new TopKLeaderboard(40);
+        leaderboard.replace(leaderboard.snapshot(), new long[0], new double[0], 0); // known empty, everyone counts
+        Map<Long, Double> last = new ConcurrentHashMap<>();
+
+        ExecutorService pool = Executors.newFixedThreadPool(writers + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            long base = w * 1_000L;
+            futures.add(pool.submit(() -> {
+                Random random = new Random(base);
+                start.await();
+                for (int i = 0; i < 20_000; i++) {
+                    long id = base + random.nextInt(candidatesPerWriter);
+                    double score = random.nextInt(4) == 0 ? 0 : random.nextInt(1_000) / 1_000.0;
+                    leaderboard.update(id, score);
+                    last.put(id, score);
+                }
+                return null;
+            }));
+        }
+        Future<?> reader = pool.submit(() -> {
+            start.await();
+            while (futures.stream().anyMatch(f -> !f.isDone())) {
+                assertWellFormed(leaderboard.snapshot());
+            }
+            return null;
+        });
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        reader.get(30, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        List<Map.Entry<Long, Double>> expected = last.entrySet().stream()
+                .filter(e -> e.getValue() > 0)
+                .sorted(Comparator.<Map.Entry<Long, Double>>comparingDouble(Map.Entry::getValue).reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .toList();
+        TopKLeaderboard.Board board = leaderboard.snapshot();
+        assertWellFormed(board);
+        if (!board.depleted()) {
+            assertEquals(Math.min(40, expected.size()), board.size());
+        }
+        for (int i = 0; i < board.size(); i++) {
+            assertEquals(expected.get(i).getKey(), board.ids()[i]);
+            assertEquals(expected.get(i).getValue(), board.scores()[i]);
+        }
+    }
+
+    private static void assertWellFormed(TopKLeaderboard.Board board) {
+        for (int i = 1; i < board.size(); i++) {
+            boolean ordered = board.scores()[i - 1] > board.scores()[i]
+                    || (board.scores()[i - 1] == board.scores()[i] && board.ids()[i - 1] < board.ids()[i]);
+            assertTrue(ordered, "board out of order at " + i);
+        }
+        assertEquals(board.size(), Arrays.stream(board.ids()).distinct().count());
+    }
+}
@@ -0,0 +1,88 @@
+package com.internlink.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.internlink.backend.dto.SignupRequest;
+import com.internlink.backend.entity.User;
+import com.internlink.backend.exception.ConflictException;
+import com.internlink.backend.repository.UserRepository;
+
+class UserServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PasswordHashingService hashing = mock(PasswordHashingService.class);
+    private final UserService userService = new UserService(userRepository, hashing, mock(TokenVersionCache.class));
+
+    private SignupRequest request() {
+        SignupRequest request = new SignupRequest();
+        request.setFullName("A");
+        request.setEmail("a@b.com");
+        request.setPassword("secret");
+        request.setPhone("5550100");
+        request.setUserType("candidate");
+        return request;
+    }
+
+    private static UserRepository.ContactRow row(String email, String phone) {
+        return new UserRepository.ContactRow() {
+            public String getEmail() { return email; }
+            public String getPhone() { return phone; }
+        };
+    }
+
+    @Test
+    void duplicateEmailIsRejectedBeforeHashing() {
+        when(userRepository.findContactConflicts("a@b.com", "5550100"))
+                .thenReturn(List.of(row("other@b.com", "5550100"), row("a@b.com", "5550199")));
+
+        ConflictException ex = assertThrows(ConflictException.class, () -> userService.signup(request()));
+
+        assertEquals("Email already registered", ex.getMessage());
+        verify(hashing, never()).encode(any());
+    }
+
+    @Test
+    void constraintViolationOnInsertBecomesConflict() {
+        when(userRepository.findContactConflicts("a@b.com", "5550100")).thenReturn(List.of());
+        when(hashing.encode("secret")).thenReturn("hash");
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate key", new SQLException(), "uk_users_phone")));
+
+        ConflictException ex = assertThrows(ConflictException.class, () -> userService.signup(request()));
+
+        assertEquals("Phone number already registered", ex.getMessage());
+    }
+
+    @Test
+    void adminCannotBeChosenAtSignup() {
+        SignupRequest request = request();
+        request.setUserType("ADMIN");
+
+        assertThrows(IllegalArgumentException.class, () -> userService.signup(request));
+
+        verify(userRepository, never()).save(any(User.class));
+        verify(hashing, never()).encode(any());
+    }
+
+    @Test
+    void onlyCandidatesAndRecruitersSignUp() {
+        assertEquals("candidate", UserService.signupRole("Candidate"));
+        assertEquals("recruiter", UserService.signupRole(" recruiter "));
+        assertThrows(IllegalArgumentException.class, () -> UserService.signupRole("student"));
+        assertThrows(IllegalArgumentException.class, () -> UserService.signupRole("employer"));
+        assertThrows(IllegalArgumentException.class, () -> UserService.signupRole(null));
+    }
+}